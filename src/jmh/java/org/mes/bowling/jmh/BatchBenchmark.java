@@ -0,0 +1,79 @@
+package org.mes.bowling.jmh;
+
+import org.mes.bowling.BatchScorer;
+import org.mes.bowling.BowlingScoreCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-batch scoring, one operation per batch of numGames games.
+ *
+ *   java -jar target/benchmarks.jar BatchBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    @Param({"1000", "100000"})
+    public int numGames;
+
+    @Param({GameInputs.RANDOM, GameInputs.PARTIAL})
+    public String kind;
+
+    private char[][] games;
+    private char[] rollChars;
+    private int[] gameOffsets;
+    private int[] frameScores;
+    private int[] frameCounts;
+    private final int[] gameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+
+    @Setup
+    public void setUp() {
+        games = GameInputs.games(kind, numGames, 42);
+        gameOffsets = new int[numGames + 1];
+        StringBuilder rolls = new StringBuilder();
+        for (int game = 0; game < numGames; game++) {
+            rolls.append(games[game]);
+            gameOffsets[game + 1] = rolls.length();
+        }
+        rollChars = rolls.toString().toCharArray();
+        frameScores = new int[numGames * BowlingScoreCalculator.MAX_FRAMES];
+        frameCounts = new int[numGames];
+    }
+
+    @Benchmark
+    public int[] sequentialLoop() {
+        for (int game = 0; game < numGames; game++) {
+            // calculateScores writes from index 0; copy each game to its own slot, as the batch scorers fill them
+            frameCounts[game] = BowlingScoreCalculator.calculateScores(games[game], 0, games[game].length, gameScores);
+            System.arraycopy(gameScores, 0, frameScores, game * BowlingScoreCalculator.MAX_FRAMES, frameCounts[game]);
+        }
+        return frameScores;
+    }
+
+    @Benchmark
+    public int[] batchGameArray() {
+        BatchScorer.calculateScores(games, frameScores, frameCounts);
+        return frameScores;
+    }
+
+    @Benchmark
+    public int[] batchFlatRolls() {
+        BatchScorer.calculateScores(rollChars, gameOffsets, frameScores, frameCounts);
+        return frameScores;
+    }
+}
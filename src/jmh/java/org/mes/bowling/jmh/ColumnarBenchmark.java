@@ -0,0 +1,68 @@
+package org.mes.bowling.jmh;
+
+import org.mes.bowling.BowlingScoreCalculator;
+import org.mes.bowling.ColumnarBatchScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ColumnarBatchScorer against the scalar path on the same games, all on one thread.
+ * Build with "mvn -P jmh,vector package" and compare
+ *
+ *   java -jar target/benchmarks.jar ColumnarBenchmark -jvmArgsAppend --add-modules=jdk.incubator.vector
+ *   java -jar target/benchmarks.jar ColumnarBenchmark
+ *
+ * for the Vector API kernel and the scalar lane kernel respectively.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarBenchmark {
+    @Param({"100000"})
+    public int numGames;
+
+    @Param({GameInputs.RANDOM, GameInputs.PERFECT})
+    public String kind;
+
+    private char[][] games;
+    private int[] frameScores;
+    private int[] frameCounts;
+    private final int[] gameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+
+    @Setup
+    public void setUp() {
+        games = GameInputs.games(kind, numGames, 42);
+        frameScores = new int[numGames * BowlingScoreCalculator.MAX_FRAMES];
+        frameCounts = new int[numGames];
+    }
+
+    @Benchmark
+    public int[] scalar() {
+        for (int game = 0; game < numGames; game++) {
+            // calculateScores writes from index 0; copy each game to its own slot, as columnar() fills them
+            frameCounts[game] = BowlingScoreCalculator.calculateScores(games[game], 0, games[game].length, gameScores);
+            System.arraycopy(gameScores, 0, frameScores, game * BowlingScoreCalculator.MAX_FRAMES, frameCounts[game]);
+        }
+        return frameScores;
+    }
+
+    @Benchmark
+    public int[] columnar() {
+        ColumnarBatchScorer.calculateScores(games, frameScores, frameCounts);
+        return frameScores;
+    }
+}
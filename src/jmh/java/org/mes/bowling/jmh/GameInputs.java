@@ -0,0 +1,65 @@
+package org.mes.bowling.jmh;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Deterministic benchmark inputs: every kind is an array of valid games.
+final class GameInputs {
+    static final String PARTIAL = "partial";
+    static final String PERFECT = "perfect";
+    static final String ALL_SPARES = "allSpares";
+    static final String RANDOM = "random";
+
+    private GameInputs() {}
+
+    static char[][] games(String kind, int numGames, long seed) {
+        Random random = new Random(seed);
+        char[][] games = new char[numGames][];
+        for (int game = 0; game < numGames; game++) {
+            switch (kind) {
+                case PERFECT:
+                    games[game] = "XXXXXXXXXXXX".toCharArray();
+                    break;
+                case ALL_SPARES:
+                    games[game] = "5/5/5/5/5/5/5/5/5/5/5".toCharArray();
+                    break;
+                case RANDOM:
+                    games[game] = randomGame(random);
+                    break;
+                case PARTIAL:
+                    char[] full = randomGame(random);
+                    games[game] = Arrays.copyOf(full, 1 + random.nextInt(full.length));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown game kind " + kind);
+            }
+        }
+        return games;
+    }
+
+    static char[] randomGame(Random random) {
+        StringBuilder game = new StringBuilder(21);
+        for (int frame = 1; frame <= 10; frame++) {
+            int first = random.nextInt(11);
+            if (first == 10) {
+                game.append('X');
+                if (frame == 10) {
+                    // two bonus rolls, which may themselves be strikes or a spare
+                    int second = random.nextInt(11);
+                    game.append(second == 10 ? 'X' : (char) ('0' + second));
+                    int third = random.nextInt(second == 10 ? 11 : 11 - second);
+                    game.append(second != 10 && second + third == 10 ? '/' : third == 10 ? 'X' : (char) ('0' + third));
+                }
+                continue;
+            }
+            int second = random.nextInt(11 - first);
+            game.append((char) ('0' + first));
+            game.append(first + second == 10 ? '/' : (char) ('0' + second));
+            if (frame == 10 && first + second == 10) {
+                int bonus = random.nextInt(11);
+                game.append(bonus == 10 ? 'X' : (char) ('0' + bonus));
+            }
+        }
+        return game.toString().toCharArray();
+    }
+}
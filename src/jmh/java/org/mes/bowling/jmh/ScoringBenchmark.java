@@ -0,0 +1,96 @@
+package org.mes.bowling.jmh;
+
+import org.mes.bowling.BowlingScoreCalculator;
+import org.mes.bowling.GameCodec;
+import org.mes.bowling.IncrementalScorer;
+import org.mes.bowling.Roll;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-game entry points. Each operation scores the next game of a fixed set of NUM_GAMES
+ * games so the branch predictor can't memorise one input.
+ *
+ *   java -jar target/benchmarks.jar ScoringBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+    private static final int NUM_GAMES = 1024; // a power of two so the next game is a mask away
+
+    @Param({GameInputs.PARTIAL, GameInputs.PERFECT, GameInputs.ALL_SPARES, GameInputs.RANDOM})
+    public String kind;
+
+    private char[][] games;
+    private ByteBuffer encodedGames;
+    private final int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+    private final IncrementalScorer incrementalScorer = new IncrementalScorer();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        games = GameInputs.games(kind, NUM_GAMES, 42);
+        byte[] encoded = new byte[NUM_GAMES * GameCodec.ENCODED_SIZE];
+        for (int game = 0; game < NUM_GAMES; game++) {
+            GameCodec.encode(games[game], 0, games[game].length, encoded, game * GameCodec.ENCODED_SIZE);
+        }
+        encodedGames = ByteBuffer.wrap(encoded);
+    }
+
+    private int nextGame() {
+        return next++ & (NUM_GAMES - 1);
+    }
+
+    @Benchmark
+    public List<Roll> ingestRollChars() {
+        return BowlingScoreCalculator.ingestRollChars(games[nextGame()]);
+    }
+
+    @Benchmark
+    public List<Integer> calculateScores() {
+        return BowlingScoreCalculator.calculateScores(games[nextGame()]);
+    }
+
+    @Benchmark
+    public int calculateScoresIntoBuffer() {
+        char[] game = games[nextGame()];
+        return BowlingScoreCalculator.calculateScores(game, 0, game.length, frameScores);
+    }
+
+    @Benchmark
+    public int validateRolls() {
+        char[] game = games[nextGame()];
+        return BowlingScoreCalculator.validateRolls(game, 0, game.length);
+    }
+
+    @Benchmark
+    public int incrementalScorer() {
+        incrementalScorer.reset();
+        for (char rollChar : games[nextGame()]) {
+            incrementalScorer.addRoll(rollChar);
+        }
+        return incrementalScorer.copyScores(frameScores);
+    }
+
+    @Benchmark
+    public int packedGame() {
+        return GameCodec.calculateScores(encodedGames, nextGame() * GameCodec.ENCODED_SIZE, frameScores, 0);
+    }
+}
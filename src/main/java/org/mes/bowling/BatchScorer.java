@@ -0,0 +1,143 @@
+package org.mes.bowling;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+
+/**
+ * Scores many games in one call, splitting them across the common fork-join pool.
+ *
+ * Game g's frame scores are written to frameScores[g * MAX_FRAMES, g * MAX_FRAMES + frameCounts[g]),
+ * using UNDETERMINED for frames that can't be scored yet; the rest of its slots are left untouched.
+ *
+ * The tryCalculateScores methods never throw for invalid games: frameCounts[g] is set to a
+ * negative RollError result instead, so bad games can be skipped or quarantined. The
+ * calculateScores methods score the whole batch the same way and then throw for the first
+ * invalid game, if any.
+ */
+public class BatchScorer {
+    // batches (and fork-join tasks) of at most this many games are scored on a single thread
+    static final int GAMES_PER_TASK = 1024;
+
+    private BatchScorer() {}
+
+    public static void calculateScores(char[][] games, int[] frameScores, int[] frameCounts) {
+        tryCalculateScores(games, frameScores, frameCounts);
+        for (int game = 0; game < games.length; game++) {
+            if (RollError.isError(frameCounts[game])) {
+                throw RollError.of(frameCounts[game]).toException(games[game][RollError.rollIndex(frameCounts[game])]);
+            }
+        }
+    }
+
+    // game g is rollChars[gameOffsets[g], gameOffsets[g + 1])
+    public static void calculateScores(char[] rollChars, int[] gameOffsets, int[] frameScores, int[] frameCounts) {
+        tryCalculateScores(rollChars, gameOffsets, frameScores, frameCounts);
+        for (int game = 0; game < gameOffsets.length - 1; game++) {
+            if (RollError.isError(frameCounts[game])) {
+                throw RollError.of(frameCounts[game]).toException(rollChars[gameOffsets[game] + RollError.rollIndex(frameCounts[game])]);
+            }
+        }
+    }
+
+    public static void tryCalculateScores(char[][] games, int[] frameScores, int[] frameCounts) {
+        checkOutputSizes(games.length, frameScores, frameCounts);
+        if (!ScorerMetrics.ENABLED) {
+            run(new ScoreTask(games, null, null, frameScores, frameCounts, 0, games.length));
+            return;
+        }
+
+        long start = System.nanoTime();
+        run(new ScoreTask(games, null, null, frameScores, frameCounts, 0, games.length));
+        ScorerMetrics metrics = ScorerMetrics.batchScorer();
+        metrics.recordCall(System.nanoTime() - start);
+        for (int game = 0; game < games.length; game++) {
+            metrics.recordInput(games[game].length, frameCounts[game]);
+        }
+    }
+
+    public static void tryCalculateScores(char[] rollChars, int[] gameOffsets, int[] frameScores, int[] frameCounts) {
+        int numGames = Math.max(gameOffsets.length - 1, 0);
+        checkOutputSizes(numGames, frameScores, frameCounts);
+        if (!ScorerMetrics.ENABLED) {
+            run(new ScoreTask(null, rollChars, gameOffsets, frameScores, frameCounts, 0, numGames));
+            return;
+        }
+
+        long start = System.nanoTime();
+        run(new ScoreTask(null, rollChars, gameOffsets, frameScores, frameCounts, 0, numGames));
+        ScorerMetrics metrics = ScorerMetrics.batchScorer();
+        metrics.recordCall(System.nanoTime() - start);
+        for (int game = 0; game < numGames; game++) {
+            metrics.recordInput(gameOffsets[game + 1] - gameOffsets[game], frameCounts[game]);
+        }
+    }
+
+    private static void checkOutputSizes(int numGames, int[] frameScores, int[] frameCounts) {
+        if (frameScores.length < (long) numGames * MAX_FRAMES) {
+            throw new IllegalArgumentException("frameScores must hold " + MAX_FRAMES + " frames for each of the " + numGames + " games.");
+        }
+        if (frameCounts.length < numGames) {
+            throw new IllegalArgumentException("frameCounts must hold one count for each of the " + numGames + " games.");
+        }
+    }
+
+    private static void run(ScoreTask task) {
+        if (task.to - task.from <= GAMES_PER_TASK) {
+            // not worth handing off to other threads
+            task.scoreGames();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    private static class ScoreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // exactly one of games or rollChars/gameOffsets is set
+        private final char[][] games;
+        private final char[] rollChars;
+        private final int[] gameOffsets;
+        private final int[] frameScores;
+        private final int[] frameCounts;
+        private final int from;
+        private final int to;
+
+        ScoreTask(char[][] games, char[] rollChars, int[] gameOffsets, int[] frameScores, int[] frameCounts, int from, int to) {
+            this.games = games;
+            this.rollChars = rollChars;
+            this.gameOffsets = gameOffsets;
+            this.frameScores = frameScores;
+            this.frameCounts = frameCounts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                scoreGames();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(games, rollChars, gameOffsets, frameScores, frameCounts, from, middle),
+                    new ScoreTask(games, rollChars, gameOffsets, frameScores, frameCounts, middle, to));
+        }
+
+        void scoreGames() {
+            for (int game = from; game < to; game++) {
+                if (games != null) {
+                    char[] gameChars = games[game];
+                    frameCounts[game] = ScoringEngine.scoreFrames(gameChars, 0, gameChars.length, frameScores, game * MAX_FRAMES);
+                } else {
+                    int start = gameOffsets[game];
+                    int end = gameOffsets[game + 1];
+                    Objects.checkFromToIndex(start, end, rollChars.length);
+                    frameCounts[game] = ScoringEngine.scoreFrames(rollChars, start, end - start, frameScores, game * MAX_FRAMES);
+                }
+            }
+        }
+    }
+}
@@ -1,167 +1,149 @@
 package org.mes.bowling;
 
-import org.mes.bowling.exception.InvalidRollCharacterException;
-import org.mes.bowling.exception.InvalidRollSequenceException;
-
 import java.util.*;
 
 public class BowlingScoreCalculator {
-    private static final char STRIKE = 'X';
-    private static final char SPARE = '/';
-    private static final char FOUL = 'F'; // equivalent to a '0' for scoring
-    private static final char MISS = '-'; // equivalent to a '0' for scoring
-
-    private static final Character[] VALID_CHARS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', STRIKE, SPARE, FOUL, MISS};
-    private static final List<Character> VALID_CHARS_LIST = Arrays.asList(VALID_CHARS);
+    public static final int MAX_FRAMES = 10;
+    public static final int UNDETERMINED = -1; // a frame score that can't be defined from the rolls so far
 
     private BowlingScoreCalculator() {};
 
     public static List<Integer> calculateScores(char[] rollChars) {
-        List<Integer> scores = new ArrayList<>();
-
-        List<Roll> rolls = ingestRollChars(rollChars);
-        if (rolls.isEmpty()) { return scores; }
-        int numRolls = rolls.size();
-
-        // find which frames are present in the rolls
-        Set<Integer> framesPresent = new TreeSet<>(); // use TreeSet to order set by frame number
-        for (Roll roll : rolls) { framesPresent.add(roll.getFrame()); }
-
-        int startIndex;
-        for (int currentFrame: framesPresent) {
-            startIndex = 0;
-            while (rolls.get(startIndex).getFrame() != currentFrame) {
-                startIndex++;
-            }
-            // startIndex is now the index of the first roll in the current frame
-
-            if (startIndex == numRolls - 1) {
-                // the first roll in the current frame is the last roll in the list,
-                // which means we don't have enough rolls to define this frame's score
-                scores.add(null);
-                continue;
-            }
-
-            // if we get here, there must be at least one roll after the first roll in the frame
-            Roll firstRollInFrame = rolls.get(startIndex);
-            Roll rollAfterFirstRoll = rolls.get(startIndex + 1);
-            if (!firstRollInFrame.isStrike() && !rollAfterFirstRoll.isSpare()) {
-                // this frame has two rolls with no strikes or spares
-                scores.add(firstRollInFrame.getPins() + rollAfterFirstRoll.getPins());
-                continue;
-            }
-
-            if (!firstRollInFrame.isStrike() && rollAfterFirstRoll.isSpare()) {
-                // this frame has a spare, so we need a third roll to define the score
-                if (startIndex == numRolls - 2) {
-                    // no third roll exists
-                    scores.add(null);
-                    continue;
-                } else {
-                    // a third roll exists
-                    Roll secondRollAfterFirstRoll = rolls.get(startIndex + 2);
-                    scores.add(firstRollInFrame.getPins() + rollAfterFirstRoll.getPins() + secondRollAfterFirstRoll.getPins());
-                    continue;
-                }
-            }
-
-            if (firstRollInFrame.isStrike()) {
-                // this frame has a strike, so we need two more rolls to define the score
-                if (startIndex >= numRolls - 2) {
-                    // we don't have enough rolls to define the score
-                    scores.add(null);
-                    // continue is not needed here
-                } else {
-                    // we have enough rolls to define the score
-                    Roll secondRollAfterFirstRoll = rolls.get(startIndex + 2);
-                    scores.add(firstRollInFrame.getPins() + rollAfterFirstRoll.getPins() + secondRollAfterFirstRoll.getPins());
-                    // continue is not needed here
-                }
-            }
-        } // iterate over all present frames
+        int[] frameScores = new int[MAX_FRAMES];
+        int numFrames = calculateScores(rollChars, 0, rollChars.length, frameScores);
 
+        List<Integer> scores = new ArrayList<>(numFrames);
+        for (int i = 0; i < numFrames; i++) {
+            scores.add(frameScores[i] == UNDETERMINED ? null : frameScores[i]);
+        }
         return scores;
     }
 
-    public static List<Roll> ingestRollChars(char[] rollChars) {
-        List<Roll> rolls = new ArrayList<>();
-        if (rollChars.length == 0) { return rolls; }
-
-        int currentFrame = 1;
-        int currentRollInFrame = 1;
-        int remainingPins = 10;
-
-        for(char rollChar: rollChars) {
-            if (!isValidRollCharacter(rollChar)) {
-                throw new InvalidRollCharacterException("'" + rollChar + "' is not a valid character for bowling scores.");
-            }
-
-            // rules for frames 1 through 9
-            if (currentFrame < 10) {
-                if (currentRollInFrame != 1 && rollChar == STRIKE) {
-                    throw new InvalidRollSequenceException("Strikes may only happen on the first roll of frames 1 through 9.");
-                }
+    /**
+     * Scores rollChars[offset, offset + length) into frameScores without allocating, using
+     * UNDETERMINED for frames that can't be scored yet.
+     *
+     * @param frameScores must hold at least MAX_FRAMES entries
+     * @return the number of frames written to frameScores
+     */
+    public static int calculateScores(char[] rollChars, int offset, int length, int[] frameScores) {
+        int result = tryCalculateScores(rollChars, offset, length, frameScores);
+        if (RollError.isError(result)) {
+            throw RollError.of(result).toException(rollChars[offset + RollError.rollIndex(result)]);
+        }
+        return result;
+    }
 
-                if (currentRollInFrame != 2 && rollChar == SPARE) {
-                    throw new InvalidRollSequenceException("Spares may only happen on the second roll of frames 1 through 9.");
-                }
-            }
+    // same as above for ASCII roll characters, e.g. read straight from a file or socket
+    public static int calculateScores(byte[] rollBytes, int offset, int length, int[] frameScores) {
+        int result = tryCalculateScores(rollBytes, offset, length, frameScores);
+        if (RollError.isError(result)) {
+            throw RollError.of(result).toException((char) (rollBytes[offset + RollError.rollIndex(result)] & 0xFF));
+        }
+        return result;
+    }
 
-            // strikes
-            if (rollChar==STRIKE) {
-                rolls.add(new Roll(currentFrame, currentRollInFrame, 10, true, false, false));
+    /**
+     * Same as calculateScores, but invalid input is reported by returning a negative RollError
+     * result instead of throwing, so callers can skip bad games without the cost of exceptions.
+     */
+    public static int tryCalculateScores(char[] rollChars, int offset, int length, int[] frameScores) {
+        checkBuffers(offset, length, rollChars.length, frameScores);
+        if (!ScorerMetrics.ENABLED) {
+            return ScoringEngine.scoreFrames(rollChars, offset, length, frameScores, 0);
+        }
+
+        long start = System.nanoTime();
+        int result = ScoringEngine.scoreFrames(rollChars, offset, length, frameScores, 0);
+        ScorerMetrics.get().recordCall(length, result, System.nanoTime() - start);
+        return result;
+    }
 
-                if (currentFrame<10) currentFrame++;
+    public static int tryCalculateScores(byte[] rollBytes, int offset, int length, int[] frameScores) {
+        checkBuffers(offset, length, rollBytes.length, frameScores);
+        if (!ScorerMetrics.ENABLED) {
+            return ScoringEngine.scoreFrames(rollBytes, offset, length, frameScores, 0);
+        }
 
-                continue;
-            }
+        long start = System.nanoTime();
+        int result = ScoringEngine.scoreFrames(rollBytes, offset, length, frameScores, 0);
+        ScorerMetrics.get().recordCall(length, result, System.nanoTime() - start);
+        return result;
+    }
 
-            // spares
-            if (rollChar==SPARE) {
-                rolls.add(new Roll(currentFrame, currentRollInFrame, remainingPins, false, true, false));
+    /**
+     * Checks rollChars[offset, offset + length) against the same rules as calculateScores without
+     * scoring it, using a precomputed state machine with no data-dependent branches.
+     *
+     * @return 0 if the rolls are valid, or a negative RollError result
+     */
+    public static int validateRolls(char[] rollChars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, rollChars.length);
+        return RollStateMachine.validate(rollChars, offset, length);
+    }
 
-                if (currentFrame<10) currentFrame++;
-                currentRollInFrame = 1;
-                remainingPins = 10;
+    public static int validateRolls(byte[] rollBytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, rollBytes.length);
+        return RollStateMachine.validate(rollBytes, offset, length);
+    }
 
-                continue;
-            }
+    private static void checkBuffers(int offset, int length, int inputLength, int[] frameScores) {
+        Objects.checkFromIndexSize(offset, length, inputLength);
+        if (frameScores.length < MAX_FRAMES) {
+            throw new IllegalArgumentException("frameScores must hold at least " + MAX_FRAMES + " frames.");
+        }
+    }
 
-            // neither a strike nor a spare
-            int pinsToppled = numberOfPinsToppled(rollChar);
-            rolls.add(new Roll(currentFrame, currentRollInFrame, pinsToppled, false, false, false));
-            if (currentRollInFrame == 1) {
-                currentRollInFrame = 2;
-                remainingPins = 10 - pinsToppled;
-            } else {
-                if (currentFrame<10) currentFrame++;
-                currentRollInFrame = 1;
-                remainingPins = 10;
+    // the rolls come from Roll's pool, so only the list itself is allocated
+    public static List<Roll> ingestRollChars(char[] rollChars) {
+        long start = ScorerMetrics.ENABLED ? System.nanoTime() : 0;
+        List<Roll> rolls = new ArrayList<>(rollChars.length);
+
+        int cursor = FrameCursor.START;
+        for (int i = 0; i < rollChars.length; i++) {
+            int roll = FrameCursor.tryNextRoll(cursor, RollSymbols.of(rollChars[i]));
+            if (roll < 0) {
+                if (ScorerMetrics.ENABLED) {
+                    ScorerMetrics.ingestRollChars().recordCall(rollChars.length, RollError.atRollIndex(roll, i), System.nanoTime() - start);
+                }
+                throw RollError.of(roll).toException(rollChars[i]);
             }
-
-
+            rolls.add(Roll.of(roll));
+            cursor = FrameCursor.advance(cursor, roll);
         } // rollChars
 
+        if (ScorerMetrics.ENABLED) {
+            ScorerMetrics.ingestRollChars().recordCall(rollChars.length, 0, System.nanoTime() - start);
+        }
         return rolls;
     }
 
-    private static boolean isValidRollCharacter(Character roll) {
-        return VALID_CHARS_LIST.contains(roll);
-    }
-
-    // this method is never called for spares ('X') or strikes ('/')
-    private static int numberOfPinsToppled(char rollChar) {
-        return switch (rollChar) {
-            case '1' -> 1;
-            case '2' -> 2;
-            case '3' -> 3;
-            case '4' -> 4;
-            case '5' -> 5;
-            case '6' -> 6;
-            case '7' -> 7;
-            case '8' -> 8;
-            case '9' -> 9;
-            default -> 0; // this covers '0', 'F' (foul), and '-' (miss)
-        };
+    /**
+     * Parses and scores rollChars into its frames, with the same rules as ingestRollChars. The
+     * frames share one packed copy of the rolls; see Frame.
+     */
+    public static List<Frame> ingestFrames(char[] rollChars) {
+        short[] rolls = new short[rollChars.length];
+        int[] frameStarts = new int[MAX_FRAMES];
+        int numFrames = 0;
+
+        int cursor = FrameCursor.START;
+        for (int i = 0; i < rollChars.length; i++) {
+            int roll = FrameCursor.nextRoll(cursor, rollChars[i]);
+            if (FrameCursor.startsFrame(roll)) {
+                frameStarts[numFrames++] = i;
+            }
+            rolls[i] = (short) roll;
+            cursor = FrameCursor.advance(cursor, roll);
+        }
+
+        int[] frameScores = new int[MAX_FRAMES];
+        ScoringEngine.scoreFrames(rollChars, 0, rollChars.length, frameScores, 0);
+        Frame[] frames = new Frame[numFrames];
+        for (int frame = 0; frame < numFrames; frame++) {
+            int end = frame + 1 < numFrames ? frameStarts[frame + 1] : rolls.length;
+            frames[frame] = new Frame(rolls, frameStarts[frame], end, frameScores[frame]);
+        }
+        return List.of(frames);
     }
 }
@@ -0,0 +1,102 @@
+package org.mes.bowling;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+import static org.mes.bowling.GameColumns.LANES;
+
+/**
+ * Experimental batch scorer for large arrays of mostly complete games, such as archive re-scoring.
+ *
+ * Games are loaded GameColumns.LANES at a time into a structure-of-arrays block and every frame
+ * of the block is scored with the same branch-free arithmetic. When the JVM runs with
+ * --add-modules jdk.incubator.vector and the jar was built with the vector profile, the block is
+ * scored with the Vector API; otherwise a plain loop does the same work. Games that are invalid,
+ * incomplete or longer than GameCodec.MAX_ROLLS are scored one at a time as usual, so results
+ * always match BatchScorer.
+ *
+ * The vector kernel scores a loaded block several times faster than the scalar one, but loading
+ * char[] games into columns still costs more than the scalar path saves; see ColumnarBenchmark.
+ *
+ * Same contract as BatchScorer, but everything runs on the calling thread.
+ */
+public class ColumnarBatchScorer {
+    private static final String VECTOR_KERNEL = "org.mes.bowling.VectorLaneKernel";
+    private static final LaneKernel KERNEL = loadKernel();
+
+    private ColumnarBatchScorer() {}
+
+    // true if blocks are scored with the Vector API
+    public static boolean isVectorized() {
+        return KERNEL != ScalarLaneKernel.INSTANCE;
+    }
+
+    public static void calculateScores(char[][] games, int[] frameScores, int[] frameCounts) {
+        tryCalculateScores(games, frameScores, frameCounts);
+        for (int game = 0; game < games.length; game++) {
+            if (RollError.isError(frameCounts[game])) {
+                throw RollError.of(frameCounts[game]).toException(games[game][RollError.rollIndex(frameCounts[game])]);
+            }
+        }
+    }
+
+    public static void tryCalculateScores(char[][] games, int[] frameScores, int[] frameCounts) {
+        if (!ScorerMetrics.ENABLED) {
+            tryCalculateScores(games, frameScores, frameCounts, KERNEL);
+            return;
+        }
+
+        long start = System.nanoTime();
+        tryCalculateScores(games, frameScores, frameCounts, KERNEL);
+        ScorerMetrics metrics = ScorerMetrics.columnarBatchScorer();
+        metrics.recordCall(System.nanoTime() - start);
+        for (int game = 0; game < games.length; game++) {
+            metrics.recordInput(games[game].length, frameCounts[game]);
+        }
+    }
+
+    static void tryCalculateScores(char[][] games, int[] frameScores, int[] frameCounts, LaneKernel kernel) {
+        if (frameScores.length < (long) games.length * MAX_FRAMES) {
+            throw new IllegalArgumentException("frameScores must hold " + MAX_FRAMES + " frames for each of the " + games.length + " games.");
+        }
+        if (frameCounts.length < games.length) {
+            throw new IllegalArgumentException("frameCounts must hold one count for each of the " + games.length + " games.");
+        }
+
+        GameColumns columns = new GameColumns();
+        boolean[] loaded = new boolean[LANES];
+        for (int first = 0; first < games.length; first += LANES) {
+            int numLanes = Math.min(LANES, games.length - first);
+            for (int lane = 0; lane < numLanes; lane++) {
+                int game = first + lane;
+                char[] gameChars = games[game];
+                loaded[lane] = columns.load(lane, gameChars, 0, gameChars.length);
+                if (!loaded[lane]) {
+                    // the kernel still scores this lane, but its scores are never copied out
+                    frameCounts[game] = ScoringEngine.scoreFrames(gameChars, 0, gameChars.length, frameScores, game * MAX_FRAMES);
+                }
+            }
+
+            kernel.scoreFrames(columns, 0, numLanes);
+            copyOut(columns, loaded, first, numLanes, frameScores, frameCounts);
+        }
+    }
+
+    private static void copyOut(GameColumns columns, boolean[] loaded, int first, int numLanes, int[] frameScores, int[] frameCounts) {
+        for (int lane = 0; lane < numLanes; lane++) {
+            if (!loaded[lane]) { continue; }
+            int game = first + lane;
+            frameCounts[game] = MAX_FRAMES;
+            for (int frame = 0; frame < MAX_FRAMES; frame++) {
+                frameScores[game * MAX_FRAMES + frame] = columns.frameScores[frame * LANES + lane];
+            }
+        }
+    }
+
+    private static LaneKernel loadKernel() {
+        try {
+            return (LaneKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // not built with the vector profile, or jdk.incubator.vector isn't available at runtime
+            return ScalarLaneKernel.INSTANCE;
+        }
+    }
+}
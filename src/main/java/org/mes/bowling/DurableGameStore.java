@@ -0,0 +1,534 @@
+package org.mes.bowling;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * A LiveGameRegistry whose games survive a restart, kept in a directory of write-ahead log
+ * segments and snapshots.
+ *
+ * Every accepted roll is appended to the current segment as a 9-byte record (long game id, roll
+ * symbol). Appends from all threads are gathered into batches by one writer thread, and each
+ * batch is written with a count and CRC and made durable with a single FileChannel.force, so
+ * many appenders share each force (group commit). addRoll returns once its batch is durable;
+ * reads through getRegistry() may see a roll slightly before that.
+ *
+ * Every snapshotInterval records, or on snapshot(), the writer starts segment N and a background
+ * thread compacts everything before it into snapshot-N.dat: it loads the previous snapshot and
+ * replays the closed segments into a private registry, so appenders are never held up while games
+ * are copied. Once the snapshot is renamed into place and the directory synced, older segments
+ * and snapshots are deleted.
+ *
+ * Opening the store loads the newest snapshot and replays the segments written since, stopping
+ * at the first torn or corrupt batch in any segment: nothing after it was acknowledged in order
+ * with what came before. That segment is truncated to its intact batches and any later segments
+ * are renamed to *.discarded, so the next segment continues exactly where recovery stopped.
+ */
+public class DurableGameStore implements Closeable {
+    public static final long DEFAULT_SNAPSHOT_INTERVAL = 1_000_000;
+
+    static final int RECORD_SIZE = Long.BYTES + 1;
+    static final int BATCH_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    static final int SNAPSHOT_MAGIC = 0x534E4150; // "SNAP"
+    static final int SNAPSHOT_ENTRY_SIZE = Long.BYTES + 4 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final byte REMOVE = 0x0F;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final String DISCARDED_SUFFIX = ".discarded";
+
+    private final Path directory;
+    private final LiveGameRegistry registry;
+    private final long snapshotInterval;
+
+    // everything below up to the writer's own fields is guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+    private final Condition snapshotWritten = lock.newCondition();
+    private byte[] pending = new byte[64 * 1024];
+    private int pendingLength;
+    private long appendedRecords;
+    private long durableRecords;
+    private long recordsSinceSnapshot;
+    // snapshot() takes a ticket; a snapshot covers every ticket handed out before its segment was started
+    private long snapshotTickets;
+    private long ticketsRotated;
+    private long ticketsWritten;
+    // one compaction at a time; rotations that come due meanwhile wait for it rather than queue up
+    private boolean compacting;
+    private IOException failure;
+    private boolean closed;
+
+    // only used by the writer thread
+    private byte[] writing = new byte[64 * 1024];
+    private FileChannel segment;
+    private long segmentNumber;
+    private final ByteBuffer batchHeader = ByteBuffer.allocate(BATCH_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+
+    // only used by the snapshot thread after construction
+    private long lastSnapshot;
+
+    private final Thread writer;
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-store-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DurableGameStore(Path directory, LiveGameRegistry registry, long snapshotInterval, long lastSnapshot,
+                             long segmentNumber) throws IOException {
+        this.directory = directory;
+        this.registry = registry;
+        this.snapshotInterval = snapshotInterval;
+        this.lastSnapshot = lastSnapshot;
+        this.segmentNumber = segmentNumber;
+        this.segment = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory(directory);
+        this.writer = new Thread(this::runWriter, "game-store-wal");
+        writer.start();
+    }
+
+    public static DurableGameStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SNAPSHOT_INTERVAL, null);
+    }
+
+    /**
+     * Recovers the games in directory, creating it if needed.
+     *
+     * @param snapshotInterval the number of records after which a snapshot is taken
+     * @param events           passed on to the registry; may be null. Recovered rolls are not published.
+     */
+    public static DurableGameStore open(Path directory, long snapshotInterval, FrameEventPublisher events) throws IOException {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("snapshotInterval must be positive.");
+        }
+        Files.createDirectories(directory);
+        List<Long> segments = new ArrayList<>();
+        long snapshot = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.add(parseNumber(name, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+                } else if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    snapshot = Math.max(snapshot, parseNumber(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+                }
+            }
+        }
+        Collections.sort(segments);
+
+        LiveGameRegistry recovered = new LiveGameRegistry();
+        if (snapshot >= 0) {
+            loadSnapshot(directory.resolve(snapshotName(snapshot)), recovered);
+        }
+        long lastSegment = snapshot;
+        boolean gap = false;
+        for (long segmentNumber : segments) {
+            lastSegment = Math.max(lastSegment, segmentNumber);
+            if (segmentNumber < snapshot) { continue; }
+            Path file = directory.resolve(segmentName(segmentNumber));
+            if (gap) {
+                Files.move(file, directory.resolve(segmentName(segmentNumber) + DISCARDED_SUFFIX));
+                continue;
+            }
+            long intactLength = replaySegment(file, recovered);
+            if (intactLength < Files.size(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(intactLength);
+                    channel.force(true);
+                }
+                gap = true;
+            }
+        }
+        if (gap) {
+            forceDirectory(directory);
+        }
+
+        LiveGameRegistry registry = new LiveGameRegistry(events);
+        recovered.snapshotStates().forEach(registry::restore);
+        return new DurableGameStore(directory, registry, snapshotInterval, snapshot, lastSegment + 1);
+    }
+
+    // reads and the registry's other methods; adding rolls or removing games directly isn't logged
+    public LiveGameRegistry getRegistry() {
+        return registry;
+    }
+
+    public void addRoll(long gameId, char rollChar) throws IOException {
+        int result = tryAddRoll(gameId, rollChar);
+        if (RollError.isError(result)) {
+            throw RollError.of(result).toException(rollChar);
+        }
+    }
+
+    // same as LiveGameRegistry.tryAddRoll, but returns only once the roll is durable
+    public int tryAddRoll(long gameId, char rollChar) throws IOException {
+        lock.lock();
+        try {
+            checkOpen();
+            // applied under the lock so the log has every game's rolls in the order they were accepted
+            int result = registry.tryAddRoll(gameId, rollChar);
+            if (RollError.isError(result)) { return result; }
+            appendRecord(gameId, (byte) RollSymbols.of(rollChar));
+            awaitDurable(appendedRecords);
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(long gameId) throws IOException {
+        lock.lock();
+        try {
+            checkOpen();
+            if (!registry.remove(gameId)) { return false; }
+            appendRecord(gameId, REMOVE);
+            awaitDurable(appendedRecords);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // takes a snapshot of every roll acknowledged so far and waits until it is on disk
+    public void snapshot() throws IOException {
+        lock.lock();
+        try {
+            checkOpen();
+            long ticket = ++snapshotTickets;
+            batchReady.signal();
+            while (ticketsWritten < ticket && failure == null) {
+                snapshotWritten.awaitUninterruptibly();
+            }
+            checkFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // waits for pending appends and snapshots, then stops the writer
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) { return; }
+            closed = true;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+        lock.lock();
+        try {
+            checkFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendRecord(long gameId, byte symbol) {
+        if (pendingLength + RECORD_SIZE > pending.length) {
+            pending = Arrays.copyOf(pending, pending.length * 2);
+        }
+        ByteBuffer.wrap(pending, pendingLength, RECORD_SIZE).putLong(gameId).put(symbol);
+        pendingLength += RECORD_SIZE;
+        appendedRecords++;
+        batchReady.signal();
+    }
+
+    private void awaitDurable(long record) throws IOException {
+        while (durableRecords < record && failure == null) {
+            // releases the lock, so other threads keep appending to the next batch meanwhile
+            batchWritten.awaitUninterruptibly();
+        }
+        checkFailure();
+    }
+
+    private void checkOpen() throws IOException {
+        checkFailure();
+        if (closed) {
+            throw new IOException("The game store is closed.");
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("The game store's log could not be written.", failure);
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                int length;
+                long lastRecord;
+                long tickets = -1;
+                lock.lock();
+                try {
+                    while (pendingLength == 0 && !snapshotRequestDue() && !(closed && snapshotTickets == ticketsRotated)) {
+                        batchReady.awaitUninterruptibly();
+                    }
+                    if (pendingLength == 0 && closed && snapshotTickets == ticketsRotated) { return; }
+
+                    byte[] batch = pending;
+                    pending = writing;
+                    writing = batch;
+                    length = pendingLength;
+                    pendingLength = 0;
+                    lastRecord = appendedRecords;
+
+                    recordsSinceSnapshot += length / RECORD_SIZE;
+                    if (snapshotRequestDue() || !compacting && recordsSinceSnapshot >= snapshotInterval) {
+                        // every roll acknowledged so far is in this batch or an earlier one
+                        tickets = snapshotTickets;
+                        ticketsRotated = tickets;
+                        recordsSinceSnapshot = 0;
+                        compacting = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (length > 0) {
+                    writeBatch(writing, length);
+                }
+                if (tickets >= 0) {
+                    startSegment(tickets);
+                }
+
+                lock.lock();
+                try {
+                    durableRecords = lastRecord;
+                    batchWritten.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(new IOException(e));
+        }
+    }
+
+    private void writeBatch(byte[] batch, int length) throws IOException {
+        crc.reset();
+        crc.update(batch, 0, length);
+        batchHeader.clear();
+        batchHeader.putInt(length / RECORD_SIZE).putInt((int) crc.getValue()).flip();
+        ByteBuffer records = ByteBuffer.wrap(batch, 0, length);
+        while (batchHeader.hasRemaining() || records.hasRemaining()) {
+            segment.write(new ByteBuffer[]{batchHeader, records});
+        }
+        segment.force(false);
+    }
+
+    private boolean snapshotRequestDue() {
+        return !compacting && snapshotTickets != ticketsRotated;
+    }
+
+    // closes the current segment and has the snapshot thread compact everything up to it
+    private void startSegment(long tickets) throws IOException {
+        segment.close();
+        segmentNumber++;
+        segment = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory(directory);
+        long snapshotNumber = segmentNumber;
+        snapshotWriter.execute(() -> {
+            try {
+                compact(snapshotNumber);
+                lock.lock();
+                try {
+                    ticketsWritten = tickets;
+                    compacting = false;
+                    snapshotWritten.signalAll();
+                    // a snapshot() that came in meanwhile is waiting for the next rotation
+                    batchReady.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e instanceof IOException ? (IOException) e : new IOException(e));
+            }
+        });
+    }
+
+    // writes snapshot-N from the last snapshot and the segments before N, then deletes what it replaces
+    private void compact(long snapshotNumber) throws IOException {
+        LiveGameRegistry games = new LiveGameRegistry();
+        if (lastSnapshot >= 0) {
+            loadSnapshot(directory.resolve(snapshotName(lastSnapshot)), games);
+        }
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                long number = parseNumber(file.getFileName().toString(), SEGMENT_PREFIX, SEGMENT_SUFFIX);
+                if (number >= lastSnapshot && number < snapshotNumber) { segments.add(number); }
+            }
+        }
+        Collections.sort(segments);
+        for (long number : segments) {
+            Path file = segmentPath(number);
+            if (replaySegment(file, games) != Files.size(file)) {
+                // the writer forced every batch of these, so this is damage, and the segment must be kept
+                throw new IOException(file + " is corrupt.");
+            }
+        }
+
+        writeSnapshot(games.snapshotStates(), snapshotNumber);
+        lastSnapshot = snapshotNumber;
+    }
+
+    private void writeSnapshot(Map<Long, GameState> states, long snapshotNumber) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + states.size() * SNAPSHOT_ENTRY_SIZE);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(states.size());
+        for (Map.Entry<Long, GameState> entry : states.entrySet()) {
+            GameState state = entry.getValue();
+            buffer.putLong(entry.getKey()).putInt(state.cursor).putInt(state.rollBeforeLast).putInt(state.lastRoll)
+                    .putInt(state.numRolls).putLong(state.packedScores).putInt(state.points);
+        }
+        buffer.flip();
+
+        Path temporary = directory.resolve(snapshotName(snapshotNumber) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, directory.resolve(snapshotName(snapshotNumber)), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // the rename must be durable before anything it replaces is deleted
+        forceDirectory(directory);
+
+        // the new snapshot covers everything older
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if ((name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                        && parseNumber(name, SEGMENT_PREFIX, SEGMENT_SUFFIX) < snapshotNumber)
+                        || (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                        && parseNumber(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < snapshotNumber)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // makes file creations, renames and deletions in directory durable
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // some platforms cannot open a directory, and make its entries durable without it
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        } catch (IOException e) {
+            // nor can every platform force one
+        }
+    }
+
+    private void fail(IOException e) {
+        lock.lock();
+        try {
+            if (failure == null) { failure = e; }
+            batchWritten.signalAll();
+            snapshotWritten.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void loadSnapshot(Path file, LiveGameRegistry registry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != SNAPSHOT_MAGIC) {
+            throw new IOException(file + " is not a game store snapshot.");
+        }
+        int count = buffer.getInt();
+        if (buffer.remaining() != (long) count * SNAPSHOT_ENTRY_SIZE) {
+            throw new IOException(file + " is truncated.");
+        }
+        for (int i = 0; i < count; i++) {
+            long gameId = buffer.getLong();
+            registry.restore(gameId, new GameState(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                    buffer.getLong(), buffer.getInt()));
+        }
+    }
+
+    // applies batches up to the first torn or corrupt one and returns the length of those intact batches
+    private static long replaySegment(Path file, LiveGameRegistry registry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 crc = new CRC32();
+        while (buffer.hasRemaining()) {
+            int batchStart = buffer.position();
+            if (buffer.remaining() < BATCH_HEADER_SIZE) { return batchStart; }
+            int count = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (count < 0 || buffer.remaining() < (long) count * RECORD_SIZE) { return batchStart; }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), count * RECORD_SIZE);
+            if ((int) crc.getValue() != checksum) { return batchStart; }
+
+            for (int i = 0; i < count; i++) {
+                long gameId = buffer.getLong();
+                byte symbol = buffer.get();
+                if (symbol == REMOVE) {
+                    registry.remove(gameId);
+                } else {
+                    registry.tryAddRoll(gameId, RollSymbols.toChar(symbol));
+                }
+            }
+        }
+        return buffer.position();
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(segmentName(number));
+    }
+
+    private static String segmentName(long number) {
+        return String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    private static String snapshotName(long number) {
+        return String.format("%s%016d%s", SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX);
+    }
+
+    private static long parseNumber(String name, String prefix, String suffix) {
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,65 @@
+package org.mes.bowling;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * One frame of a parsed game, from BowlingScoreCalculator.ingestFrames.
+ *
+ * A game's frames share one array of its rolls packed into shorts, two bytes a roll, and each
+ * frame is a range of it. Rolls are handed out from Roll's pool, so holding on to parsed games
+ * costs little more than the roll characters themselves. The 10th frame includes its extra rolls.
+ */
+public final class Frame {
+    private final short[] rolls;  // the whole game's packed FrameCursor rolls
+    private final int start;
+    private final int end;
+    private final int score;
+
+    Frame(short[] rolls, int start, int end, int score) {
+        this.rolls = rolls;
+        this.start = start;
+        this.end = end;
+        this.score = score;
+    }
+
+    public int getFrame() { return FrameCursor.frame(rolls[start]); }
+
+    // the frame's score, or BowlingScoreCalculator.UNDETERMINED if it needs rolls the game doesn't have yet
+    public int getScore() { return score; }
+
+    public int getNumRolls() { return end - start; }
+
+    public Roll getRoll(int index) {
+        return Roll.of(rolls[start + Objects.checkIndex(index, end - start)]);
+    }
+
+    // a read-only view; nothing is copied
+    public List<Roll> getRolls() {
+        return new RollList();
+    }
+
+    public boolean isStrike() { return FrameCursor.isStrike(rolls[start]); }
+
+    public boolean isSpare() { return end - start > 1 && FrameCursor.isSpare(rolls[start + 1]); }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Frame{frame=").append(getFrame()).append(", rolls=");
+        for (int i = start; i < end; i++) {
+            int roll = rolls[i];
+            builder.append(FrameCursor.isStrike(roll) ? 'X' : FrameCursor.isSpare(roll) ? '/' : (char) ('0' + FrameCursor.pins(roll)));
+        }
+        return builder.append(", score=").append(score == BowlingScoreCalculator.UNDETERMINED ? "?" : score).append('}').toString();
+    }
+
+    private final class RollList extends AbstractList<Roll> implements RandomAccess {
+        @Override
+        public Roll get(int index) { return getRoll(index); }
+
+        @Override
+        public int size() { return end - start; }
+    }
+}
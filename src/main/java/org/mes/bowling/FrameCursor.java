@@ -0,0 +1,123 @@
+package org.mes.bowling;
+
+import static org.mes.bowling.RollSymbols.INVALID;
+import static org.mes.bowling.RollSymbols.SPARE_SYMBOL;
+import static org.mes.bowling.RollSymbols.STRIKE_SYMBOL;
+
+/**
+ * The rules for turning roll characters into rolls, shared by every ingest path.
+ *
+ * Both the position in the game (the "cursor") and each roll are packed into an int so that
+ * scoring can run without allocating anything per roll:
+ *
+ *   cursor: bits 0-3 frame, bits 4-5 roll in frame, bits 6-9 remaining pins,
+ *           bit 10 set once the current frame has had its first roll,
+ *           bit 11 set once the 10th frame is closed and only extra rolls remain
+ *   roll:   bits 0-3 pins, bit 4 strike, bit 5 spare, bit 6 first roll of a frame,
+ *           bit 7 extra roll after a strike or spare in the 10th frame,
+ *           bits 8-11 frame, bits 12-13 roll in frame
+ */
+final class FrameCursor {
+    private static final int FRAME_MASK = 0x0F;
+    private static final int ROLL_IN_FRAME_SHIFT = 4;
+    private static final int REMAINING_PINS_SHIFT = 6;
+    private static final int FRAME_OPENED_BIT = 1 << 10;
+    private static final int EXTRA_ROLLS_BIT = 1 << 11;
+
+    static final int PINS_MASK = 0x0F;
+    static final int STRIKE_BIT = 1 << 4;
+    static final int SPARE_BIT = 1 << 5;
+    static final int FRAME_START_BIT = 1 << 6;
+    static final int EXTRA_ROLL_BIT = 1 << 7;
+    private static final int ROLL_FRAME_SHIFT = 8;
+    private static final int ROLL_ROLL_IN_FRAME_SHIFT = 12;
+
+    static final int START = cursor(1, 1, 10, false);
+    // every cursor is less than this
+    static final int NUM_CURSOR_VALUES = 1 << 12;
+
+    private FrameCursor() {}
+
+    // returns the packed roll for rollChar at the given position in the game
+    static int nextRoll(int cursor, char rollChar) {
+        return nextRoll(cursor, RollSymbols.of(rollChar), rollChar);
+    }
+
+    // rollChar is only used to describe an invalid symbol
+    static int nextRoll(int cursor, int symbol, char rollChar) {
+        int roll = tryNextRoll(cursor, symbol);
+        if (roll < 0) {
+            throw RollError.of(roll).toException(rollChar);
+        }
+        return roll;
+    }
+
+    // same as nextRoll, but returns a negative RollError result (for roll index 0) instead of throwing
+    static int tryNextRoll(int cursor, int symbol) {
+        if (symbol == INVALID) {
+            return RollError.INVALID_CHARACTER.code();
+        }
+
+        int currentFrame = cursor & FRAME_MASK;
+        int currentRollInFrame = (cursor >>> ROLL_IN_FRAME_SHIFT) & 0x3;
+
+        // rules for frames 1 through 9
+        if (currentFrame < 10) {
+            if (currentRollInFrame != 1 && symbol == STRIKE_SYMBOL) {
+                return RollError.STRIKE_NOT_ON_FIRST_ROLL.code();
+            }
+
+            if (currentRollInFrame != 2 && symbol == SPARE_SYMBOL) {
+                return RollError.SPARE_NOT_ON_SECOND_ROLL.code();
+            }
+        }
+
+        int roll = currentFrame << ROLL_FRAME_SHIFT | currentRollInFrame << ROLL_ROLL_IN_FRAME_SHIFT;
+        if ((cursor & FRAME_OPENED_BIT) == 0) { roll |= FRAME_START_BIT; }
+        if ((cursor & EXTRA_ROLLS_BIT) != 0) { roll |= EXTRA_ROLL_BIT; }
+
+        if (symbol == STRIKE_SYMBOL) { return roll | STRIKE_BIT | 10; }
+        if (symbol == SPARE_SYMBOL) { return roll | SPARE_BIT | remainingPins(cursor); }
+        return roll | symbol; // the symbol of an ordinary roll is its number of pins
+    }
+
+    // returns the position in the game after the given roll
+    static int advance(int cursor, int roll) {
+        int currentFrame = cursor & FRAME_MASK;
+
+        // strikes leave the roll in frame and remaining pins alone, which only matters in the 10th frame
+        if (isStrike(roll)) {
+            return currentFrame < 10 ? cursor(currentFrame + 1, 1, 10, false) : cursor | FRAME_OPENED_BIT | EXTRA_ROLLS_BIT;
+        }
+
+        if (isSpare(roll) || rollInFrame(roll) != 1) {
+            return currentFrame < 10 ? cursor(currentFrame + 1, 1, 10, false) : cursor(10, 1, 10, true) | EXTRA_ROLLS_BIT;
+        }
+
+        return cursor(currentFrame, 2, 10 - pins(roll), true) | cursor & EXTRA_ROLLS_BIT;
+    }
+
+    static int frame(int roll) { return (roll >>> ROLL_FRAME_SHIFT) & FRAME_MASK; }
+
+    static int rollInFrame(int roll) { return (roll >>> ROLL_ROLL_IN_FRAME_SHIFT) & 0x3; }
+
+    static int pins(int roll) { return roll & PINS_MASK; }
+
+    static boolean isStrike(int roll) { return (roll & STRIKE_BIT) != 0; }
+
+    static boolean isSpare(int roll) { return (roll & SPARE_BIT) != 0; }
+
+    static boolean startsFrame(int roll) { return (roll & FRAME_START_BIT) != 0; }
+
+    static boolean isExtraRoll(int roll) { return (roll & EXTRA_ROLL_BIT) != 0; }
+
+    // true once every roll still to come is an extra roll
+    static boolean isTenthFrameClosed(int cursor) { return (cursor & EXTRA_ROLLS_BIT) != 0; }
+
+    private static int remainingPins(int cursor) { return (cursor >>> REMAINING_PINS_SHIFT) & 0xF; }
+
+    private static int cursor(int frame, int rollInFrame, int remainingPins, boolean frameOpened) {
+        return frame | rollInFrame << ROLL_IN_FRAME_SHIFT | remainingPins << REMAINING_PINS_SHIFT
+                | (frameOpened ? FRAME_OPENED_BIT : 0);
+    }
+}
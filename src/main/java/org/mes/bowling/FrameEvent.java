@@ -0,0 +1,45 @@
+package org.mes.bowling;
+
+/**
+ * A frame's score becoming known: published once per frame, when the frame has all the rolls it
+ * needs. runningTotal is the game's total through this frame.
+ */
+public final class FrameEvent {
+    private final long gameId;
+    private final int frame;
+    private final int score;
+    private final int runningTotal;
+
+    public FrameEvent(long gameId, int frame, int score, int runningTotal) {
+        this.gameId = gameId;
+        this.frame = frame;
+        this.score = score;
+        this.runningTotal = runningTotal;
+    }
+
+    public long getGameId() { return gameId; }
+
+    public int getFrame() { return frame; }
+
+    public int getScore() { return score; }
+
+    public int getRunningTotal() { return runningTotal; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) { return true; }
+        if (!(o instanceof FrameEvent)) { return false; }
+        FrameEvent other = (FrameEvent) o;
+        return gameId == other.gameId && frame == other.frame && score == other.score && runningTotal == other.runningTotal;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(gameId) * 31 * 31 * 31 + frame * 31 * 31 + score * 31 + runningTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "game " + gameId + " frame " + frame + ": " + score + " (" + runningTotal + ")";
+    }
+}
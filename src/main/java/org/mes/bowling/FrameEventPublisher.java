@@ -0,0 +1,197 @@
+package org.mes.bowling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes FrameEvents as frames are resolved, usually by a LiveGameRegistry created with it.
+ *
+ * Each onNext delivers a batch: every event queued for that subscriber since its last delivery,
+ * in order. A subscriber that keeps up gets small batches; one that falls behind gets fewer,
+ * larger ones instead of a backlog of separate signals. One unit of demand is one batch.
+ *
+ * Publishing never blocks and never waits for subscribers: events go onto a lock-free queue per
+ * subscriber, and delivery runs on the executor (the common pool by default), at most one task
+ * per subscriber at a time. Each queue holds at most maxBufferedEvents; a subscriber that falls
+ * further behind than that is cancelled and sent onError with an IllegalStateException instead of
+ * silently missing frames.
+ */
+public class FrameEventPublisher implements Flow.Publisher<List<FrameEvent>>, AutoCloseable {
+    public static final int DEFAULT_MAX_BUFFERED_EVENTS = 1 << 16;
+
+    private final Executor executor;
+    private final int maxBufferedEvents;
+    private final List<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public FrameEventPublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public FrameEventPublisher(Executor executor) {
+        this(executor, DEFAULT_MAX_BUFFERED_EVENTS);
+    }
+
+    public FrameEventPublisher(Executor executor, int maxBufferedEvents) {
+        if (maxBufferedEvents < 1) {
+            throw new IllegalArgumentException("maxBufferedEvents must be positive.");
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.maxBufferedEvents = maxBufferedEvents;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<FrameEvent>> subscriber) {
+        BufferedSubscription subscription = new BufferedSubscription(Objects.requireNonNull(subscriber));
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.signal();
+        }
+    }
+
+    public void publish(FrameEvent event) {
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    // publishes an event for every frame that is determined in newScores but wasn't in oldScores
+    void publishResolvedFrames(long gameId, long oldScores, long newScores) {
+        if (subscriptions.isEmpty()) { return; }
+        int runningTotal = 0;
+        for (int frame = 1, numFrames = PackedScores.numFrames(newScores); frame <= numFrames; frame++) {
+            int score = PackedScores.score(newScores, frame);
+            if (score == BowlingScoreCalculator.UNDETERMINED) { return; }
+            runningTotal += score;
+            boolean wasDetermined = frame <= PackedScores.numFrames(oldScores)
+                    && PackedScores.score(oldScores, frame) != BowlingScoreCalculator.UNDETERMINED;
+            if (!wasDetermined) {
+                publish(new FrameEvent(gameId, frame, score, runningTotal));
+            }
+        }
+    }
+
+    public int getNumberOfSubscribers() {
+        return subscriptions.size();
+    }
+
+    // completes every subscriber once it has been sent the events already published
+    @Override
+    public void close() {
+        closed = true;
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    private final class BufferedSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super List<FrameEvent>> subscriber;
+        private final Queue<FrameEvent> queue = new ConcurrentLinkedQueue<>();
+        // the queue's size, which ConcurrentLinkedQueue can only count by walking it
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicLong demand = new AtomicLong();
+        // counts signals since the last drain, so only one drain runs at a time and none is missed
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile boolean cancelled;
+        // a bad request or an overflow, sent as onError by the next delivery
+        private volatile Throwable error;
+
+        BufferedSubscription(Flow.Subscriber<? super List<FrameEvent>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive, was " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            queue.clear();
+        }
+
+        void offer(FrameEvent event) {
+            if (buffered.incrementAndGet() > maxBufferedEvents) {
+                if (error == null) {
+                    error = new IllegalStateException("Subscriber fell more than " + maxBufferedEvents + " events behind.");
+                }
+                subscriptions.remove(this);
+            } else {
+                queue.offer(event);
+            }
+            signal();
+        }
+
+        void signal() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int signals = pendingSignals.get();
+            while (true) {
+                if (!deliver()) { return; }
+                signals = pendingSignals.addAndGet(-signals);
+                if (signals == 0) { return; }
+            }
+        }
+
+        // delivers as much as demand allows; returns false once the subscription is over
+        private boolean deliver() {
+            if (cancelled) { return false; }
+            if (error != null) {
+                cancel();
+                subscriber.onError(error);
+                return false;
+            }
+            try {
+                while (demand.get() > 0 && !queue.isEmpty()) {
+                    List<FrameEvent> batch = new ArrayList<>();
+                    for (FrameEvent event; (event = queue.poll()) != null; ) {
+                        batch.add(event);
+                    }
+                    buffered.addAndGet(-batch.size());
+                    demand.decrementAndGet();
+                    subscriber.onNext(Collections.unmodifiableList(batch));
+                    if (cancelled) { return false; }
+                }
+                if (closed && queue.isEmpty()) {
+                    cancel();
+                    subscriber.onComplete();
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                // a subscriber that throws is dropped, as with SubmissionPublisher
+                cancel();
+                return false;
+            }
+            return true;
+        }
+    }
+}
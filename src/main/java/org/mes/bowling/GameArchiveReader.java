@@ -0,0 +1,85 @@
+package org.mes.bowling;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.mes.bowling.GameArchiveWriter.FOOTER_SIZE;
+import static org.mes.bowling.GameArchiveWriter.HEADER_SIZE;
+import static org.mes.bowling.GameArchiveWriter.INDEX_ENTRY_SIZE;
+import static org.mes.bowling.GameArchiveWriter.MAGIC;
+
+/**
+ * Reads an archive written by GameArchiveWriter. Only the block index is loaded up front;
+ * each block is memory-mapped when asked for and scored straight from the mapping.
+ */
+public class GameArchiveReader implements Closeable {
+    private final FileChannel channel;
+    private final long[] blockOffsets;
+    private final long[] blockFirstGames;
+    private final int[] blockGameCounts;
+    private final long numGames;
+
+    public GameArchiveReader(Path archive) throws IOException {
+        channel = FileChannel.open(archive, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE || readFully(0, HEADER_SIZE).getInt() != MAGIC) {
+                throw new IOException(archive + " is not a game archive.");
+            }
+
+            ByteBuffer footer = readFully(size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int numBlocks = footer.getInt();
+            if (footer.getInt() != MAGIC || indexOffset + (long) numBlocks * INDEX_ENTRY_SIZE != size - FOOTER_SIZE) {
+                throw new IOException(archive + " is truncated or corrupt.");
+            }
+
+            ByteBuffer index = readFully(indexOffset, numBlocks * INDEX_ENTRY_SIZE);
+            blockOffsets = new long[numBlocks];
+            blockFirstGames = new long[numBlocks];
+            blockGameCounts = new int[numBlocks];
+            long games = 0;
+            for (int i = 0; i < numBlocks; i++) {
+                blockOffsets[i] = index.getLong();
+                blockFirstGames[i] = index.getLong();
+                blockGameCounts[i] = index.getInt();
+                games += blockGameCounts[i];
+            }
+            numGames = games;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getNumBlocks() { return blockOffsets.length; }
+
+    public long getNumGames() { return numGames; }
+
+    public long getFirstGame(int block) { return blockFirstGames[block]; }
+
+    public GameBlock mapBlock(int block) throws IOException {
+        int numBlockGames = blockGameCounts[block];
+        long blockSize = Integer.BYTES + (long) numBlockGames * (1 + GameCodec.ENCODED_SIZE);
+        return new GameBlock(channel.map(FileChannel.MapMode.READ_ONLY, blockOffsets[block], blockSize), numBlockGames);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of game archive.");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,113 @@
+package org.mes.bowling;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes games to an archive file that GameArchiveReader can map and score block by block.
+ *
+ * The file is a MAGIC header, then the blocks, then the block index, then a footer:
+ *
+ *   block:  int game count, a column of one roll count byte per game,
+ *           then a column of GameCodec.ENCODED_SIZE bytes per game
+ *   index:  per block, long file offset, long number of the block's first game, int game count
+ *   footer: long index offset, int block count, int MAGIC
+ */
+public class GameArchiveWriter implements Closeable {
+    static final int MAGIC = 0x424F574C; // "BOWL"
+    static final int HEADER_SIZE = Integer.BYTES;
+    static final int INDEX_ENTRY_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES;
+    static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    public static final int DEFAULT_GAMES_PER_BLOCK = 4096;
+
+    private final FileChannel channel;
+    private final int gamesPerBlock;
+    private final ByteBuffer block;
+    private final byte[] rollCounts;
+    private final byte[] encodedGames;
+    private int gamesInBlock;
+
+    private long numGames;
+    private int numBlocks;
+    private long[] blockOffsets = new long[16];
+    private long[] blockFirstGames = new long[16];
+    private int[] blockGameCounts = new int[16];
+
+    public GameArchiveWriter(Path archive) throws IOException {
+        this(archive, DEFAULT_GAMES_PER_BLOCK);
+    }
+
+    public GameArchiveWriter(Path archive, int gamesPerBlock) throws IOException {
+        if (gamesPerBlock < 1) {
+            throw new IllegalArgumentException("gamesPerBlock must be positive.");
+        }
+        this.gamesPerBlock = gamesPerBlock;
+        this.block = ByteBuffer.allocate(Integer.BYTES + gamesPerBlock * (1 + GameCodec.ENCODED_SIZE));
+        this.rollCounts = new byte[gamesPerBlock];
+        this.encodedGames = new byte[gamesPerBlock * GameCodec.ENCODED_SIZE];
+        this.channel = FileChannel.open(archive, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writeFully(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).flip());
+    }
+
+    // validates the game with the same rules as ingestRollChars; see GameCodec.encode
+    public void append(char[] rollChars) throws IOException {
+        append(rollChars, 0, rollChars.length);
+    }
+
+    public void append(char[] rollChars, int offset, int length) throws IOException {
+        GameCodec.encode(rollChars, offset, length, encodedGames, gamesInBlock * GameCodec.ENCODED_SIZE);
+        rollCounts[gamesInBlock++] = (byte) length;
+        if (gamesInBlock == gamesPerBlock) {
+            writeBlock();
+        }
+    }
+
+    public long getNumGames() { return numGames + gamesInBlock; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (gamesInBlock > 0) { writeBlock(); }
+
+            long indexOffset = channel.position();
+            ByteBuffer index = ByteBuffer.allocate(numBlocks * INDEX_ENTRY_SIZE + FOOTER_SIZE);
+            for (int i = 0; i < numBlocks; i++) {
+                index.putLong(blockOffsets[i]).putLong(blockFirstGames[i]).putInt(blockGameCounts[i]);
+            }
+            index.putLong(indexOffset).putInt(numBlocks).putInt(MAGIC);
+            writeFully(index.flip());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (numBlocks == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, numBlocks * 2);
+            blockFirstGames = Arrays.copyOf(blockFirstGames, numBlocks * 2);
+            blockGameCounts = Arrays.copyOf(blockGameCounts, numBlocks * 2);
+        }
+        blockOffsets[numBlocks] = channel.position();
+        blockFirstGames[numBlocks] = numGames;
+        blockGameCounts[numBlocks] = gamesInBlock;
+        numBlocks++;
+
+        block.clear();
+        block.putInt(gamesInBlock).put(rollCounts, 0, gamesInBlock).put(encodedGames, 0, gamesInBlock * GameCodec.ENCODED_SIZE);
+        writeFully(block.flip());
+
+        numGames += gamesInBlock;
+        gamesInBlock = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.mes.bowling;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One block of a game archive: a column of roll counts followed by a column of packed games.
+ * Games are numbered from 0 within the block.
+ */
+public class GameBlock {
+    private final ByteBuffer data;
+    private final int numGames;
+    private final int encodedGamesOffset;
+
+    GameBlock(ByteBuffer data, int numGames) {
+        if (data.getInt(0) != numGames) {
+            throw new IllegalStateException("Block header says " + data.getInt(0) + " games but the index says " + numGames + ".");
+        }
+        this.data = data;
+        this.numGames = numGames;
+        this.encodedGamesOffset = Integer.BYTES + numGames;
+    }
+
+    public int getNumGames() { return numGames; }
+
+    public int getNumRolls(int game) {
+        return data.get(Integer.BYTES + checkGame(game));
+    }
+
+    // same contract as GameCodec.calculateScores
+    public int calculateScores(int game, int[] frameScores, int scoresOffset) {
+        return GameCodec.calculateScores(data, encodedGamesOffset + checkGame(game) * GameCodec.ENCODED_SIZE, frameScores, scoresOffset);
+    }
+
+    public int decode(int game, char[] rollChars, int offset) {
+        return GameCodec.decode(data, encodedGamesOffset + checkGame(game) * GameCodec.ENCODED_SIZE, rollChars, offset);
+    }
+
+    private int checkGame(int game) {
+        if (game < 0 || game >= numGames) {
+            throw new IndexOutOfBoundsException("Game " + game + " is not in this block of " + numGames + " games.");
+        }
+        return game;
+    }
+}
@@ -0,0 +1,99 @@
+package org.mes.bowling;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static org.mes.bowling.RollSymbols.INVALID;
+import static org.mes.bowling.RollSymbols.NUM_SYMBOLS;
+import static org.mes.bowling.ScoringEngine.NO_ROLL;
+
+/**
+ * Packs a game into ENCODED_SIZE bytes, one 4-bit symbol per roll, and scores packed games
+ * without turning them back into characters or Roll objects.
+ *
+ * The 4-bit codes are the RollSymbols symbols, and END_SYMBOL pads the bytes after the last
+ * roll. Roll i is in byte i / 2, high nibble first. Fouls and misses are stored as 0, so they
+ * decode as '0'.
+ */
+public class GameCodec {
+    public static final int MAX_ROLLS = 21;
+    public static final int ENCODED_SIZE = (MAX_ROLLS + 1) / 2;
+
+    static final int END_SYMBOL = 0xF;
+
+    private GameCodec() {}
+
+    /**
+     * Validates rollChars[offset, offset + length) with the same rules as ingestRollChars and
+     * writes its ENCODED_SIZE bytes to encoded at encodedOffset.
+     */
+    public static void encode(char[] rollChars, int offset, int length, byte[] encoded, int encodedOffset) {
+        Objects.checkFromIndexSize(offset, length, rollChars.length);
+        Objects.checkFromIndexSize(encodedOffset, ENCODED_SIZE, encoded.length);
+        if (length > MAX_ROLLS) {
+            throw new IllegalArgumentException("A game of " + length + " rolls is longer than the " + MAX_ROLLS + " rolls that can be encoded.");
+        }
+
+        int cursor = FrameCursor.START;
+        int rollIndex = 0;
+        for (; rollIndex < length; rollIndex++) {
+            char rollChar = rollChars[offset + rollIndex];
+            int symbol = RollSymbols.of(rollChar);
+            cursor = FrameCursor.advance(cursor, FrameCursor.nextRoll(cursor, symbol, rollChar));
+            setSymbol(encoded, encodedOffset, rollIndex, symbol);
+        }
+        for (; rollIndex < ENCODED_SIZE * 2; rollIndex++) {
+            setSymbol(encoded, encodedOffset, rollIndex, END_SYMBOL);
+        }
+    }
+
+    // returns the number of rolls written to rollChars at offset
+    public static int decode(ByteBuffer encoded, int encodedOffset, char[] rollChars, int offset) {
+        int rollIndex = 0;
+        for (int symbol; rollIndex < MAX_ROLLS && (symbol = symbol(encoded, encodedOffset, rollIndex)) != END_SYMBOL; rollIndex++) {
+            rollChars[offset + rollIndex] = RollSymbols.toChar(symbol);
+        }
+        return rollIndex;
+    }
+
+    public static int numRolls(ByteBuffer encoded, int encodedOffset) {
+        int rollIndex = 0;
+        while (rollIndex < MAX_ROLLS && symbol(encoded, encodedOffset, rollIndex) != END_SYMBOL) {
+            rollIndex++;
+        }
+        return rollIndex;
+    }
+
+    /**
+     * Scores the packed game at encodedOffset into frameScores at scoresOffset, with the same
+     * results and UNDETERMINED sentinel as BowlingScoreCalculator.calculateScores.
+     *
+     * @return the number of frames written
+     */
+    public static int calculateScores(ByteBuffer encoded, int encodedOffset, int[] frameScores, int scoresOffset) {
+        int scoreIndex = scoresOffset;
+        int cursor = FrameCursor.START;
+        int first = NO_ROLL;
+        int second = NO_ROLL;
+
+        for (int rollIndex = 0, symbol; rollIndex < MAX_ROLLS && (symbol = symbol(encoded, encodedOffset, rollIndex)) != END_SYMBOL; rollIndex++) {
+            int third = FrameCursor.nextRoll(cursor, symbol < NUM_SYMBOLS ? symbol : INVALID, RollSymbols.toChar(symbol));
+            cursor = FrameCursor.advance(cursor, third);
+            scoreIndex = ScoringEngine.scoreFrameBehind(first, second, third, frameScores, scoreIndex);
+            first = second;
+            second = third;
+        }
+
+        return ScoringEngine.scoreLastFrames(first, second, frameScores, scoreIndex) - scoresOffset;
+    }
+
+    private static int symbol(ByteBuffer encoded, int encodedOffset, int rollIndex) {
+        int packed = encoded.get(encodedOffset + (rollIndex >>> 1));
+        return (rollIndex & 1) == 0 ? (packed >>> 4) & 0xF : packed & 0xF;
+    }
+
+    private static void setSymbol(byte[] encoded, int encodedOffset, int rollIndex, int symbol) {
+        int index = encodedOffset + (rollIndex >>> 1);
+        encoded[index] = (byte) ((rollIndex & 1) == 0 ? (encoded[index] & 0x0F) | symbol << 4 : (encoded[index] & 0xF0) | symbol);
+    }
+}
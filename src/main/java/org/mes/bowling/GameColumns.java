@@ -0,0 +1,63 @@
+package org.mes.bowling;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+import static org.mes.bowling.GameCodec.MAX_ROLLS;
+
+/**
+ * A block of up to LANES complete games laid out structure-of-arrays for ColumnarBatchScorer:
+ * row r of a column holds roll r of every game, so element r * LANES + lane is roll r of the
+ * game in that lane. This lets a LaneKernel score many games at once with the same arithmetic.
+ *
+ * Each roll has its pins and a frames byte: the frame it starts (or 0) shifted left by one, with
+ * BONUS_BIT set if a frame starting there also counts the roll after next, because the roll is a
+ * strike or the next one is a spare. A frame starting at roll r then always scores
+ *   pins[r] + pins[r + 1] + (frames[r] & BONUS_BIT) * pins[r + 2]
+ * so scoring a complete game has no branches at all. Every value, scores included, is at most 30,
+ * so the columns are bytes: a block fits in L1 cache and a vector holds as many games as it can.
+ */
+final class GameColumns {
+    static final int LANES = 256;
+    // two rows of padding so the last rolls' lookahead stays in bounds
+    static final int ROWS = MAX_ROLLS + 2;
+
+    static final int BONUS_BIT = 1;
+
+    final byte[] pins = new byte[ROWS * LANES];
+    final byte[] frames = new byte[ROWS * LANES];
+    // scratch for the kernels: the score of a frame if it started at each roll
+    final byte[] rollScores = new byte[MAX_ROLLS * LANES];
+    // output: element (frame - 1) * LANES + lane
+    final byte[] frameScores = new byte[MAX_FRAMES * LANES];
+
+    /**
+     * Loads rollChars[offset, offset + length) into lane. Returns false, leaving the lane in an
+     * unspecified state, if the game is invalid, longer than MAX_ROLLS, or any of its ten frame
+     * scores is still undetermined; such games must be scored some other way.
+     */
+    boolean load(int lane, char[] rollChars, int offset, int length) {
+        if (length > MAX_ROLLS) { return false; }
+
+        int cursor = FrameCursor.START;
+        int tenthFrameStart = -1;
+        for (int i = 0; i < length; i++) {
+            int roll = FrameCursor.tryNextRoll(cursor, RollSymbols.of(rollChars[offset + i]));
+            if (roll < 0) { return false; }
+            cursor = FrameCursor.advance(cursor, roll);
+
+            int index = i * LANES + lane;
+            pins[index] = (byte) FrameCursor.pins(roll);
+            int frame = FrameCursor.startsFrame(roll) ? FrameCursor.frame(roll) : 0;
+            frames[index] = (byte) (frame << 1 | (FrameCursor.isStrike(roll) ? BONUS_BIT : 0));
+            if (FrameCursor.isSpare(roll) && i > 0) { frames[index - LANES] |= BONUS_BIT; }
+            if (frame == MAX_FRAMES) { tenthFrameStart = i; }
+        }
+        for (int i = length; i < ROWS; i++) {
+            int index = i * LANES + lane;
+            pins[index] = 0;
+            frames[index] = 0;
+        }
+
+        return tenthFrameStart >= 0
+                && length > tenthFrameStart + 1 + (frames[tenthFrameStart * LANES + lane] & BONUS_BIT);
+    }
+}
@@ -0,0 +1,39 @@
+package org.mes.bowling;
+
+import static org.mes.bowling.ScoringEngine.NO_ROLL;
+
+/**
+ * An immutable snapshot of a game in progress, everything IncrementalScorer tracks but in final
+ * fields, so it can be published and swapped with a single compare-and-set.
+ */
+final class GameState {
+    static final GameState NEW = new GameState(FrameCursor.START, NO_ROLL, NO_ROLL, 0, PackedScores.EMPTY, 0);
+
+    final int cursor;
+    final int rollBeforeLast;
+    final int lastRoll;
+    final int numRolls;
+    final long packedScores;
+    final int points;  // see ScoreProjection
+
+    GameState(int cursor, int rollBeforeLast, int lastRoll, int numRolls, long packedScores, int points) {
+        this.cursor = cursor;
+        this.rollBeforeLast = rollBeforeLast;
+        this.lastRoll = lastRoll;
+        this.numRolls = numRolls;
+        this.packedScores = packedScores;
+        this.points = points;
+    }
+
+    // packed as in ScoreProjection
+    int projection() {
+        return ScoreProjection.project(points, cursor, ScoreProjection.bonuses(rollBeforeLast, lastRoll));
+    }
+
+    // roll must be a valid packed roll from FrameCursor.tryNextRoll(cursor, ...)
+    GameState withRoll(int roll) {
+        return new GameState(FrameCursor.advance(cursor, roll), lastRoll, roll, numRolls + 1,
+                ScoringEngine.addRoll(packedScores, rollBeforeLast, lastRoll, roll),
+                ScoreProjection.points(points, ScoreProjection.bonuses(rollBeforeLast, lastRoll), roll));
+    }
+}
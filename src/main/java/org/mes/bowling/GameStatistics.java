@@ -0,0 +1,176 @@
+package org.mes.bowling;
+
+import java.util.Objects;
+import java.util.stream.Collector;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+import static org.mes.bowling.ScoringEngine.NO_ROLL;
+
+/**
+ * Strike rate, spare conversion, open frames and score distributions over many games, gathered
+ * in the same single pass that parses and scores each game, without creating Roll objects.
+ *
+ * A frame's first roll is a strike opportunity. A first roll that isn't a strike and is followed
+ * by a second roll in the same frame is a spare opportunity, and an open frame if that roll isn't
+ * a spare. 10th-frame bonus rolls only count towards the frame's score. Frame scores are counted
+ * once determined, and game totals only for complete games. Invalid games are counted but
+ * otherwise ignored.
+ *
+ * An instance isn't thread-safe; give each thread its own and merge them, or use collector().
+ */
+public class GameStatistics {
+    public static final int MAX_FRAME_SCORE = 30;
+
+    private long games;
+    private long invalidGames;
+    private long completeGames;
+    private long rolls;
+    private long strikeOpportunities;
+    private long strikes;
+    private long spareOpportunities;
+    private long spares;
+    private final long[] frameScoreCounts = new long[MAX_FRAME_SCORE + 1];
+    private final long[] totalCounts = new long[Leaderboard.MAX_TOTAL + 1];
+
+    private final int[] frameScores = new int[MAX_FRAMES];
+
+    // collects char[] games, e.g. games.parallelStream().collect(GameStatistics.collector())
+    public static Collector<char[], GameStatistics, GameStatistics> collector() {
+        return Collector.of(GameStatistics::new, (statistics, game) -> statistics.add(game, 0, game.length),
+                GameStatistics::merge, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    // adds rollChars[offset, offset + length); returns 0, or the RollError result if the game was invalid
+    public int add(char[] rollChars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, rollChars.length);
+        games++;
+
+        long gameStrikes = 0;
+        long gameFrames = 0;
+        long gameSpareOpportunities = 0;
+        long gameSpares = 0;
+        int scoreIndex = 0;
+        int state = RollStateMachine.START;
+        int first = NO_ROLL;
+        int second = NO_ROLL;
+
+        for (int index = offset, end = offset + length; index < end; index++) {
+            int transition = RollStateMachine.transition(state, RollSymbols.of(rollChars[index]));
+            if (transition < 0) {
+                invalidGames++;
+                return RollError.atRollIndex(transition, index - offset);
+            }
+            state = RollStateMachine.state(transition);
+            int third = RollStateMachine.roll(transition);
+
+            if (FrameCursor.startsFrame(third)) {
+                gameFrames++;
+                if (FrameCursor.isStrike(third)) { gameStrikes++; }
+            } else if (second != NO_ROLL && FrameCursor.startsFrame(second) && !FrameCursor.isStrike(second)) {
+                gameSpareOpportunities++;
+                if (FrameCursor.isSpare(third)) { gameSpares++; }
+            }
+
+            scoreIndex = ScoringEngine.scoreFrameBehind(first, second, third, frameScores, scoreIndex);
+            first = second;
+            second = third;
+        }
+        int numFrames = ScoringEngine.scoreLastFrames(first, second, frameScores, scoreIndex);
+
+        rolls += length;
+        strikeOpportunities += gameFrames;
+        strikes += gameStrikes;
+        spareOpportunities += gameSpareOpportunities;
+        spares += gameSpares;
+        addScores(numFrames);
+        return 0;
+    }
+
+    private void addScores(int numFrames) {
+        int total = 0;
+        for (int i = 0; i < numFrames; i++) {
+            if (frameScores[i] != UNDETERMINED) {
+                frameScoreCounts[frameScores[i]]++;
+                total += frameScores[i];
+            }
+        }
+        if (numFrames == MAX_FRAMES && frameScores[MAX_FRAMES - 1] != UNDETERMINED) {
+            completeGames++;
+            totalCounts[total]++;
+        }
+    }
+
+    // adds other's counts to this one and returns this
+    public GameStatistics merge(GameStatistics other) {
+        games += other.games;
+        invalidGames += other.invalidGames;
+        completeGames += other.completeGames;
+        rolls += other.rolls;
+        strikeOpportunities += other.strikeOpportunities;
+        strikes += other.strikes;
+        spareOpportunities += other.spareOpportunities;
+        spares += other.spares;
+        for (int i = 0; i < frameScoreCounts.length; i++) {
+            frameScoreCounts[i] += other.frameScoreCounts[i];
+        }
+        for (int i = 0; i < totalCounts.length; i++) {
+            totalCounts[i] += other.totalCounts[i];
+        }
+        return this;
+    }
+
+    public long getGames() { return games; }
+
+    public long getInvalidGames() { return invalidGames; }
+
+    public long getCompleteGames() { return completeGames; }
+
+    public long getRolls() { return rolls; }
+
+    public long getStrikeOpportunities() { return strikeOpportunities; }
+
+    public long getStrikes() { return strikes; }
+
+    public long getSpareOpportunities() { return spareOpportunities; }
+
+    public long getSpares() { return spares; }
+
+    public long getOpenFrames() { return spareOpportunities - spares; }
+
+    // strikes per frame, or 0 if there were no frames
+    public double getStrikeRate() {
+        return strikeOpportunities == 0 ? 0 : (double) strikes / strikeOpportunities;
+    }
+
+    // spares per spare opportunity, or 0 if there were none
+    public double getSpareConversionRate() {
+        return spareOpportunities == 0 ? 0 : (double) spares / spareOpportunities;
+    }
+
+    // how many determined frames scored exactly score (0-30)
+    public long getFrameScoreCount(int score) {
+        return frameScoreCounts[score];
+    }
+
+    // how many complete games totalled exactly total (0-300)
+    public long getTotalCount(int total) {
+        return totalCounts[total];
+    }
+
+    // the mean total of complete games, or 0 if there were none
+    public double getAverageTotal() {
+        if (completeGames == 0) { return 0; }
+        long sum = 0;
+        for (int total = 0; total < totalCounts.length; total++) {
+            sum += total * totalCounts[total];
+        }
+        return (double) sum / completeGames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d invalid=%d complete=%d strikeRate=%.3f spareConversion=%.3f openFrames=%d averageTotal=%.1f",
+                games, invalidGames, completeGames, getStrikeRate(), getSpareConversionRate(), getOpenFrames(), getAverageTotal());
+    }
+}
@@ -0,0 +1,46 @@
+package org.mes.bowling;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GameStatistics grouped by a key such as a bowler id, built in the same single pass.
+ *
+ * Like GameStatistics this isn't thread-safe: give each thread its own and merge them.
+ */
+public class GroupedGameStatistics<K> {
+    private final Map<K, GameStatistics> groups = new HashMap<>();
+
+    // adds the game to key's group; returns 0, or the RollError result if the game was invalid
+    public int add(K key, char[] rollChars, int offset, int length) {
+        return groups.computeIfAbsent(key, k -> new GameStatistics()).add(rollChars, offset, length);
+    }
+
+    // adds other's groups to this one and returns this
+    public GroupedGameStatistics<K> merge(GroupedGameStatistics<K> other) {
+        for (Map.Entry<K, GameStatistics> entry : other.groups.entrySet()) {
+            groups.computeIfAbsent(entry.getKey(), k -> new GameStatistics()).merge(entry.getValue());
+        }
+        return this;
+    }
+
+    // key's statistics, or null if no games were added for it
+    public GameStatistics get(K key) {
+        return groups.get(key);
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(groups.keySet());
+    }
+
+    // a new GameStatistics of every group merged together
+    public GameStatistics getOverall() {
+        GameStatistics overall = new GameStatistics();
+        for (GameStatistics group : groups.values()) {
+            overall.merge(group);
+        }
+        return overall;
+    }
+}
@@ -0,0 +1,105 @@
+package org.mes.bowling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+import static org.mes.bowling.ScoringEngine.NO_ROLL;
+
+/**
+ * Keeps the frame scores of a single game up to date one roll at a time.
+ *
+ * After each call to addRoll the scores are the same as calculateScores would return for
+ * every roll added so far, but only the (at most three) frames the new roll can affect are
+ * rescored, and nothing is allocated. The scores are kept as PackedScores. Instances are not
+ * thread-safe; see LiveGameRegistry for games updated from several threads.
+ */
+public class IncrementalScorer {
+    private long packedScores = PackedScores.EMPTY;
+    private int numRolls;
+    private int points;  // see ScoreProjection
+
+    private int cursor = FrameCursor.START;
+    private int rollBeforeLast = NO_ROLL;
+    private int lastRoll = NO_ROLL;
+
+    // validates rollChar with the same rules as ingestRollChars; an invalid roll leaves the game unchanged
+    public void addRoll(char rollChar) {
+        int result = tryAddRoll(rollChar);
+        if (RollError.isError(result)) {
+            throw RollError.of(result).toException(rollChar);
+        }
+    }
+
+    // same as addRoll, but returns a RollError result (with the game's roll index) instead of throwing, or 0
+    public int tryAddRoll(char rollChar) {
+        if (!ScorerMetrics.ENABLED) {
+            return addValidRoll(rollChar);
+        }
+
+        long start = System.nanoTime();
+        int result = addValidRoll(rollChar);
+        ScorerMetrics.incrementalScorer().recordCall(1, result, System.nanoTime() - start);
+        return result;
+    }
+
+    private int addValidRoll(char rollChar) {
+        int roll = FrameCursor.tryNextRoll(cursor, RollSymbols.of(rollChar));
+        if (roll < 0) {
+            return RollError.atRollIndex(roll, numRolls);
+        }
+        cursor = FrameCursor.advance(cursor, roll);
+        numRolls++;
+
+        packedScores = ScoringEngine.addRoll(packedScores, rollBeforeLast, lastRoll, roll);
+        points = ScoreProjection.points(points, ScoreProjection.bonuses(rollBeforeLast, lastRoll), roll);
+        rollBeforeLast = lastRoll;
+        lastRoll = roll;
+        return 0;
+    }
+
+    public void reset() {
+        packedScores = PackedScores.EMPTY;
+        numRolls = 0;
+        points = 0;
+        cursor = FrameCursor.START;
+        rollBeforeLast = NO_ROLL;
+        lastRoll = NO_ROLL;
+    }
+
+    public int getNumFrames() { return PackedScores.numFrames(packedScores); }
+
+    public int getNumRolls() { return numRolls; }
+
+    // frame is 1 through getNumFrames(); returns UNDETERMINED if the frame can't be scored yet
+    public int getFrameScore(int frame) {
+        if (frame < 1 || frame > getNumFrames()) {
+            throw new IndexOutOfBoundsException("Frame " + frame + " has not been started.");
+        }
+        return PackedScores.score(packedScores, frame);
+    }
+
+    // same contract as BowlingScoreCalculator.calculateScores(char[], int, int, int[])
+    public int copyScores(int[] frameScores) {
+        return PackedScores.unpack(packedScores, frameScores);
+    }
+
+    // the lowest final total the game can still end with, in constant time; see ScoreProjection
+    public int getMinFinalScore() { return ScoreProjection.min(getProjection()); }
+
+    public int getMaxFinalScore() { return ScoreProjection.max(getProjection()); }
+
+    private int getProjection() {
+        return ScoreProjection.project(points, cursor, ScoreProjection.bonuses(rollBeforeLast, lastRoll));
+    }
+
+    public List<Integer> getScores() {
+        int numFrames = getNumFrames();
+        List<Integer> scores = new ArrayList<>(numFrames);
+        for (int frame = 1; frame <= numFrames; frame++) {
+            int score = PackedScores.score(packedScores, frame);
+            scores.add(score == UNDETERMINED ? null : score);
+        }
+        return scores;
+    }
+}
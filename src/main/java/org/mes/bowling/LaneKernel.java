@@ -0,0 +1,9 @@
+package org.mes.bowling;
+
+/**
+ * Scores lanes [from, to) of a GameColumns block, writing GameColumns.frameScores.
+ * Implementations must not branch on the data, so they can run many lanes at once.
+ */
+interface LaneKernel {
+    void scoreFrames(GameColumns columns, int from, int to);
+}
@@ -0,0 +1,91 @@
+package org.mes.bowling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative long values (usually nanoseconds) with HdrHistogram-style
+ * log-linear buckets: every power of two is split into 16 equal buckets, so a recorded value is
+ * off by at most 1/16 (about 6%) in the reported percentiles.
+ *
+ * Each bucket is a LongAdder, which spreads concurrent increments over per-thread cells, so
+ * threads recording similar latencies at once don't all contend on one counter.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // values below 2 * SUB_BUCKETS get a bucket each, then SUB_BUCKETS per power of two up to 2^63
+    private static final int NUM_BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final LongAdder[] counts = new LongAdder[NUM_BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        counts[bucketIndex(Math.max(value, 0))].increment();
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            count += counts[i].sum();
+        }
+        return count;
+    }
+
+    // returns the largest value in the bucket holding the given percentile (0-100), or 0 if nothing was recorded
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[NUM_BUCKETS];
+        long count = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            count += snapshot[i];
+        }
+        if (count == 0) { return 0; }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) { return highestValueInBucket(i); }
+        }
+        return highestValueInBucket(NUM_BUCKETS - 1);
+    }
+
+    public long getMaxValue() {
+        for (int i = NUM_BUCKETS - 1; i >= 0; i--) {
+            if (counts[i].sum() != 0) { return highestValueInBucket(i); }
+        }
+        return 0;
+    }
+
+    // adds other's counts to this histogram
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            long count = other.counts[i].sum();
+            if (count != 0) { counts[i].add(count); }
+        }
+    }
+
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+    }
+
+    static int bucketIndex(long value) {
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        if (shift <= 0) { return (int) value; }
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < 2 * SUB_BUCKETS) { return index; }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index - shift * SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,198 @@
+package org.mes.bowling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+
+/**
+ * Thread-safe index of games by running total, for reading the top K without sorting every game.
+ *
+ * A running total can only be 0 to MAX_TOTAL, so games sit in one bucket per total and reading
+ * the top K walks the buckets down from a perfect game, touching at most K games plus the 301
+ * buckets. Updating a game just moves it between two buckets. Games with the same total come
+ * back in no particular order.
+ *
+ * A bucket's set is a hash table, and iterating one costs its capacity rather than its size, so
+ * a bucket that drops to a quarter of the most games it has held (once that was at least
+ * SHRINK_MIN_PEAK) is rebuilt at its current size. Walking a bucket therefore costs at most a
+ * few times the games it holds, however many it held during a busy stretch of a league.
+ *
+ * Reads don't lock. A game that is being moved to a new total at that moment can be missing from
+ * a read, or met at both totals; a read keeps only the first, higher total, so it never returns
+ * a game twice.
+ */
+public class Leaderboard {
+    public static final int MAX_TOTAL = 300;
+    static final int SHRINK_MIN_PEAK = 1024;
+
+    private final ConcurrentHashMap<Long, Integer> totals = new ConcurrentHashMap<>();
+    private final Bucket[] buckets = new Bucket[MAX_TOTAL + 1];
+
+    public Leaderboard() {
+        for (int total = 0; total <= MAX_TOTAL; total++) {
+            buckets[total] = new Bucket();
+        }
+    }
+
+    // the sum of the frame scores that are determined so far
+    public static int runningTotal(int[] frameScores, int numFrames) {
+        int total = 0;
+        for (int i = 0; i < numFrames; i++) {
+            if (frameScores[i] != UNDETERMINED) { total += frameScores[i]; }
+        }
+        return total;
+    }
+
+    // adds the game, or moves it to its new running total
+    public void update(long gameId, int[] frameScores, int numFrames) {
+        update(gameId, runningTotal(frameScores, numFrames));
+    }
+
+    public void update(long gameId, int total) {
+        if (total < 0 || total > MAX_TOTAL) {
+            throw new IllegalArgumentException("A running total must be between 0 and " + MAX_TOTAL + ", was " + total);
+        }
+        // compute runs one update of a game at a time, so its bucket moves can't interleave
+        totals.compute(gameId, (id, oldTotal) -> {
+            if (oldTotal != null && oldTotal != total) {
+                buckets[oldTotal].remove(id);
+            }
+            buckets[total].add(id);
+            return total;
+        });
+    }
+
+    public boolean remove(long gameId) {
+        boolean[] removed = new boolean[1];
+        totals.computeIfPresent(gameId, (id, total) -> {
+            buckets[total].remove(id);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    // the game's running total, or -1 if it isn't on the leaderboard
+    public int getTotal(long gameId) {
+        Integer total = totals.get(gameId);
+        return total == null ? -1 : total;
+    }
+
+    public int size() {
+        return totals.size();
+    }
+
+    // fills gameIds and totals with the best gameIds.length games, best first; returns how many were filled
+    public int copyTop(long[] gameIds, int[] totals) {
+        if (totals.length < gameIds.length) {
+            throw new IllegalArgumentException("totals must be at least as long as gameIds");
+        }
+        Set<Long> listed = new HashSet<>();
+        int count = 0;
+        for (int total = MAX_TOTAL; total >= 0 && count < gameIds.length; total--) {
+            Iterator<Long> games = buckets[total].games.iterator();
+            while (games.hasNext() && count < gameIds.length) {
+                long gameId = games.next();
+                if (!listed.add(gameId)) { continue; }
+                gameIds[count] = gameId;
+                totals[count] = total;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // the most games the bucket's current set has held, for tests
+    int getBucketPeak(int total) {
+        return buckets[total].peak.get();
+    }
+
+    public List<Entry> getTop(int k) {
+        long[] gameIds = new long[k];
+        int[] topTotals = new int[k];
+        int count = copyTop(gameIds, topTotals);
+        List<Entry> top = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            top.add(new Entry(gameIds[i], topTotals[i]));
+        }
+        return Collections.unmodifiableList(top);
+    }
+
+    // adds and removes share the read lock, so only a rebuild, which takes the write lock, excludes them
+    private static final class Bucket {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicInteger peak = new AtomicInteger();
+        private volatile Set<Long> games = ConcurrentHashMap.newKeySet();
+
+        void add(long gameId) {
+            lock.readLock().lock();
+            try {
+                games.add(gameId);
+                peak.accumulateAndGet(games.size(), Math::max);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void remove(long gameId) {
+            int size;
+            lock.readLock().lock();
+            try {
+                games.remove(gameId);
+                size = games.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (isOversized(size)) {
+                shrink();
+            }
+        }
+
+        private boolean isOversized(int size) {
+            int peakSize = peak.get();
+            return peakSize >= SHRINK_MIN_PEAK && size <= peakSize / 4;
+        }
+
+        // reads still walking the old set see it as it was; no update touches it again
+        private void shrink() {
+            if (!lock.writeLock().tryLock()) { return; }
+            try {
+                int size = games.size();
+                if (!isOversized(size)) { return; }
+                Set<Long> rebuilt = ConcurrentHashMap.newKeySet(size);
+                rebuilt.addAll(games);
+                games = rebuilt;
+                peak.set(size);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public static final class Entry {
+        private final long gameId;
+        private final int total;
+
+        Entry(long gameId, int total) {
+            this.gameId = gameId;
+            this.total = total;
+        }
+
+        public long getGameId() { return gameId; }
+
+        public int getTotal() { return total; }
+
+        @Override
+        public String toString() {
+            return gameId + "=" + total;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.mes.bowling;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe registry of games in progress, keyed by a lane or game id.
+ *
+ * Each game is an immutable GameState of a few ints and longs behind its own AtomicReference.
+ * Adding a roll swaps in the next state with compare-and-set, retrying only if another thread
+ * added a roll to the same game at the same moment, so there are no locks at all and games never
+ * contend with each other. Reads take the current state and never block or wait for writers.
+ * A roll racing remove() either lands before the removal or starts the game afresh, never in the
+ * removed game.
+ *
+ * Given a FrameEventPublisher, the registry publishes a FrameEvent whenever a roll resolves a
+ * frame's score. Events of one game are in order as long as its rolls are added one at a time.
+ */
+public class LiveGameRegistry {
+    // what a removed game's reference holds, so a roll racing the removal can't land in it;
+    // it reads like a new game to anyone still holding the reference
+    private static final GameState REMOVED = new GameState(GameState.NEW.cursor, GameState.NEW.rollBeforeLast,
+            GameState.NEW.lastRoll, 0, GameState.NEW.packedScores, 0);
+
+    private final ConcurrentHashMap<Long, AtomicReference<GameState>> games = new ConcurrentHashMap<>();
+    private final FrameEventPublisher events;
+
+    public LiveGameRegistry() {
+        this(null);
+    }
+
+    // events may be null
+    public LiveGameRegistry(FrameEventPublisher events) {
+        this.events = events;
+    }
+
+    // starts the game if it isn't registered yet and the roll is valid; see IncrementalScorer.addRoll
+    public void addRoll(long gameId, char rollChar) {
+        int result = tryAddRoll(gameId, rollChar);
+        if (RollError.isError(result)) {
+            throw RollError.of(result).toException(rollChar);
+        }
+    }
+
+    // same as addRoll, but returns a RollError result (with the game's roll index) instead of throwing, or 0
+    public int tryAddRoll(long gameId, char rollChar) {
+        AtomicReference<GameState> game = games.get(gameId);
+        int symbol = RollSymbols.of(rollChar);
+        while (true) {
+            GameState current = game == null ? GameState.NEW : game.get();
+            if (current == REMOVED) {
+                // removed since we looked it up; the roll starts the game again
+                game = games.get(gameId);
+                continue;
+            }
+            int roll = FrameCursor.tryNextRoll(current.cursor, symbol);
+            if (roll < 0) {
+                return RollError.atRollIndex(roll, current.numRolls);
+            }
+            if (game == null) {
+                // only a valid first roll registers the game; check it again against whatever is registered now
+                game = games.computeIfAbsent(gameId, id -> new AtomicReference<>(GameState.NEW));
+                continue;
+            }
+            GameState next = current.withRoll(roll);
+            if (game.compareAndSet(current, next)) {
+                if (events != null) {
+                    events.publishResolvedFrames(gameId, current.packedScores, next.packedScores);
+                }
+                return 0;
+            }
+        }
+    }
+
+    // same contract as BowlingScoreCalculator.calculateScores(char[], int, int, int[]); an unknown game has no frames
+    public int getScores(long gameId, int[] frameScores) {
+        AtomicReference<GameState> game = games.get(gameId);
+        return game == null ? 0 : PackedScores.unpack(game.get().packedScores, frameScores);
+    }
+
+    // the game's ScoreProjection, in constant time; an unknown game could still score anything
+    public int getProjection(long gameId) {
+        AtomicReference<GameState> game = games.get(gameId);
+        return (game == null ? GameState.NEW : game.get()).projection();
+    }
+
+    public int getNumRolls(long gameId) {
+        AtomicReference<GameState> game = games.get(gameId);
+        return game == null ? 0 : game.get().numRolls;
+    }
+
+    public boolean contains(long gameId) {
+        return games.containsKey(gameId);
+    }
+
+    // removes a finished or abandoned game; returns false if it wasn't registered
+    public boolean remove(long gameId) {
+        AtomicReference<GameState> game = games.remove(gameId);
+        if (game == null) { return false; }
+        // fails the compare-and-set of any roll that read the game before it was removed
+        game.set(REMOVED);
+        return true;
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    // the current state of every game; each state is consistent, but games may be captured at different moments
+    Map<Long, GameState> snapshotStates() {
+        Map<Long, GameState> states = new HashMap<>(games.size() * 4 / 3 + 1);
+        games.forEach((gameId, game) -> {
+            GameState state = game.get();
+            if (state != REMOVED) { states.put(gameId, state); }
+        });
+        return states;
+    }
+
+    // replaces the game's state, for recovery
+    void restore(long gameId, GameState state) {
+        games.put(gameId, new AtomicReference<>(state));
+    }
+}
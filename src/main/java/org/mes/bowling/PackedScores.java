@@ -0,0 +1,52 @@
+package org.mes.bowling;
+
+/**
+ * A game's frame scores packed into one long: bits 0-3 hold the number of frames, and frame f
+ * (1-10) is stored in the 5 bits at 4 + 5 * (f - 1) as its score plus one, so 0 means
+ * UNDETERMINED. A frame's score is never more than 30, so it always fits.
+ */
+final class PackedScores {
+    static final long EMPTY = 0L;
+
+    private static final int NUM_FRAMES_BITS = 4;
+    private static final int SCORE_BITS = 5;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+
+    private PackedScores() {}
+
+    static int numFrames(long packedScores) {
+        return (int) (packedScores & ((1 << NUM_FRAMES_BITS) - 1));
+    }
+
+    static int score(long packedScores, int frame) {
+        return (int) ((packedScores >>> shift(frame)) & SCORE_MASK) - 1;
+    }
+
+    // sets frame's score, and starts the frame if it's the one after the last
+    static long withScore(long packedScores, int frame, int score) {
+        long numFrames = Math.max(numFrames(packedScores), frame);
+        long scores = packedScores & ~((1L << NUM_FRAMES_BITS) - 1) & ~(SCORE_MASK << shift(frame));
+        return scores | (long) (score + 1) << shift(frame) | numFrames;
+    }
+
+    static long pack(int[] frameScores, int numFrames) {
+        long packedScores = numFrames;
+        for (int frame = 1; frame <= numFrames; frame++) {
+            packedScores |= (long) (frameScores[frame - 1] + 1) << shift(frame);
+        }
+        return packedScores;
+    }
+
+    // same contract as BowlingScoreCalculator.calculateScores(char[], int, int, int[])
+    static int unpack(long packedScores, int[] frameScores) {
+        int numFrames = numFrames(packedScores);
+        for (int frame = 1; frame <= numFrames; frame++) {
+            frameScores[frame - 1] = score(packedScores, frame);
+        }
+        return numFrames;
+    }
+
+    private static int shift(int frame) {
+        return NUM_FRAMES_BITS + (frame - 1) * SCORE_BITS;
+    }
+}
@@ -1,18 +1,64 @@
 package org.mes.bowling;
 
-public class Roll {
-    private int frame;
-    private int rollInFrame;
-    private int pins;  // number of pins toppled on roll
-    private boolean strike;
-    private boolean spare;
+/**
+ * One roll of a game. Rolls are immutable, and Roll.of returns a shared instance from a pool
+ * holding every possible roll, so parsing a game doesn't allocate anything per roll.
+ *
+ * An extra roll is one taken after the 10th frame is closed by a strike or spare (or by its
+ * second roll); it counts only as bonus pins, never as a frame of its own.
+ */
+public final class Roll {
+    private static final int MAX_PINS = 10;
+    private static final Roll[] POOL = new Roll[BowlingScoreCalculator.MAX_FRAMES * 2 * (MAX_PINS + 1) * 8];
 
+    static {
+        for (int frame = 1; frame <= BowlingScoreCalculator.MAX_FRAMES; frame++) {
+            for (int rollInFrame = 1; rollInFrame <= 2; rollInFrame++) {
+                for (int pins = 0; pins <= MAX_PINS; pins++) {
+                    for (int flags = 0; flags < 8; flags++) {
+                        POOL[poolIndex(frame, rollInFrame, pins) | flags] = new Roll(frame, rollInFrame, pins,
+                                (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0);
+                    }
+                }
+            }
+        }
+    }
+
+    private final int frame;
+    private final int rollInFrame;
+    private final int pins;  // number of pins toppled on roll
+    private final boolean strike;
+    private final boolean spare;
+    private final boolean extraRoll;
+
+    // prefer Roll.of, which doesn't allocate
     public Roll(int frame, int rollInFrame, int pins, boolean strike, boolean spare, boolean extraRoll) {
         this.frame = frame;
         this.rollInFrame = rollInFrame;
         this.pins = pins;
         this.strike = strike;
         this.spare = spare;
+        this.extraRoll = extraRoll;
+    }
+
+    // the pooled instance; values that no game can produce get a new Roll
+    public static Roll of(int frame, int rollInFrame, int pins, boolean strike, boolean spare, boolean extraRoll) {
+        if (frame < 1 || frame > BowlingScoreCalculator.MAX_FRAMES || rollInFrame < 1 || rollInFrame > 2
+                || pins < 0 || pins > MAX_PINS) {
+            return new Roll(frame, rollInFrame, pins, strike, spare, extraRoll);
+        }
+        return POOL[poolIndex(frame, rollInFrame, pins) | (strike ? 1 : 0) | (spare ? 2 : 0) | (extraRoll ? 4 : 0)];
+    }
+
+    // the pooled instance for a packed roll from FrameCursor
+    static Roll of(int roll) {
+        return POOL[poolIndex(FrameCursor.frame(roll), FrameCursor.rollInFrame(roll), FrameCursor.pins(roll))
+                | (FrameCursor.isStrike(roll) ? 1 : 0) | (FrameCursor.isSpare(roll) ? 2 : 0)
+                | (FrameCursor.isExtraRoll(roll) ? 4 : 0)];
+    }
+
+    private static int poolIndex(int frame, int rollInFrame, int pins) {
+        return (((frame - 1) * 2 + rollInFrame - 1) * (MAX_PINS + 1) + pins) << 3;
     }
 
     public int getFrame() { return frame; }
@@ -25,6 +71,21 @@ public class Roll {
 
     public boolean isSpare() { return spare; }
 
+    public boolean isExtraRoll() { return extraRoll; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) { return true; }
+        if (!(o instanceof Roll)) { return false; }
+        Roll other = (Roll) o;
+        return frame == other.frame && rollInFrame == other.rollInFrame && pins == other.pins
+                && strike == other.strike && spare == other.spare && extraRoll == other.extraRoll;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((frame * 31 + rollInFrame) * 31 + pins) * 8 + (strike ? 1 : 0) + (spare ? 2 : 0) + (extraRoll ? 4 : 0);
+    }
 
     @Override
     public String toString() {
@@ -34,6 +95,7 @@ public class Roll {
                 ", pins=" + pins +
                 ", strike=" + strike +
                 ", spare=" + spare +
+                ", extraRoll=" + extraRoll +
                 '}';
     }
 }
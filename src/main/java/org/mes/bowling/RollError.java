@@ -0,0 +1,58 @@
+package org.mes.bowling;
+
+import org.mes.bowling.exception.InvalidRollCharacterException;
+import org.mes.bowling.exception.InvalidRollSequenceException;
+
+/**
+ * Why a roll was rejected, for the methods that report invalid input as a result instead of
+ * throwing (tryCalculateScores, tryAddRoll).
+ *
+ * Those methods return a non-negative value on success. A negative result packs the reason and
+ * the index of the rejected roll, relative to the start of the game; decode it with of(result)
+ * and rollIndex(result). Neither builds an exception or allocates anything.
+ */
+public enum RollError {
+    INVALID_CHARACTER,
+    STRIKE_NOT_ON_FIRST_ROLL,
+    SPARE_NOT_ON_SECOND_ROLL;
+
+    private static final RollError[] VALUES = values();
+
+    public static boolean isError(int result) { return result < 0; }
+
+    public static RollError of(int result) {
+        return VALUES[(-1 - result) & 0x3];
+    }
+
+    public static int rollIndex(int result) {
+        return (-1 - result) >>> 2;
+    }
+
+    // the error result for this reason at roll index 0
+    int code() {
+        return -1 - ordinal();
+    }
+
+    // moves an error result for roll index 0 to the given roll index
+    static int atRollIndex(int result, int rollIndex) {
+        return result - (rollIndex << 2);
+    }
+
+    public String getMessage(char rollChar) {
+        switch (this) {
+            case INVALID_CHARACTER:
+                return "'" + rollChar + "' is not a valid character for bowling scores.";
+            case STRIKE_NOT_ON_FIRST_ROLL:
+                return "Strikes may only happen on the first roll of frames 1 through 9.";
+            default:
+                return "Spares may only happen on the second roll of frames 1 through 9.";
+        }
+    }
+
+    // the exception the throwing methods report this error with
+    public RuntimeException toException(char rollChar) {
+        return this == INVALID_CHARACTER
+                ? new InvalidRollCharacterException(getMessage(rollChar))
+                : new InvalidRollSequenceException(getMessage(rollChar));
+    }
+}
@@ -0,0 +1,124 @@
+package org.mes.bowling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scores a newline-delimited roll log, one game per line, writing one line of frame scores per
+ * game in ScoreFormat, e.g. "[9, 19, null]".
+ *
+ * Bytes are fed straight into an IncrementalScorer, so memory use is the same no matter how big
+ * the log is, and no String or char[] is built per line. Carriage returns are ignored.
+ *
+ * An invalid game doesn't stop the log: its line gets a ScoreFormat error line instead, e.g.
+ * "ERR STRIKE_NOT_ON_FIRST_ROLL 1", so output line n is always the result for input line n.
+ * Everything scored is written out even if reading fails part way.
+ */
+public class RollLogScorer {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAP_CHUNK_SIZE = 1L << 28;
+
+    private final IncrementalScorer game = new IncrementalScorer();
+    private final int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+    private final byte[] inputBuffer = new byte[BUFFER_SIZE];
+    private final byte[] outputBuffer = new byte[BUFFER_SIZE];
+    private int outputLength;
+    private final OutputStream out;
+
+    private long numLines;
+    private long numInvalidLines;
+    private boolean lineStarted;
+    private int lineError;  // the line's RollError result, or 0 while it's valid
+
+    public RollLogScorer(OutputStream out) {
+        this.out = out;
+    }
+
+    // returns the number of games scored, invalid ones included
+    public long score(InputStream in) throws IOException {
+        try {
+            int numBytes;
+            while ((numBytes = in.read(inputBuffer)) != -1) {
+                accept(inputBuffer, numBytes);
+            }
+            finishLastLine();
+        } finally {
+            flush();
+        }
+        return numLines;
+    }
+
+    // maps the file a chunk at a time so files larger than 2GB work too; returns the number of games scored
+    public long score(Path rollLog) throws IOException {
+        try (FileChannel channel = FileChannel.open(rollLog, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_CHUNK_SIZE) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_CHUNK_SIZE, size - position));
+                while (chunk.hasRemaining()) {
+                    int numBytes = Math.min(chunk.remaining(), inputBuffer.length);
+                    chunk.get(inputBuffer, 0, numBytes);
+                    accept(inputBuffer, numBytes);
+                }
+            }
+            finishLastLine();
+        } finally {
+            flush();
+        }
+        return numLines;
+    }
+
+    // the number of lines that got an error line instead of scores
+    public long getNumInvalidLines() { return numInvalidLines; }
+
+    private void accept(byte[] bytes, int numBytes) throws IOException {
+        for (int i = 0; i < numBytes; i++) {
+            byte rollByte = bytes[i];
+            if (rollByte == '\n') {
+                endLine();
+            } else if (rollByte != '\r') {
+                lineStarted = true;
+                addRoll(rollByte);
+            }
+        }
+    }
+
+    private void addRoll(byte rollByte) {
+        // the rest of an invalid line is skipped
+        if (lineError == 0) {
+            lineError = game.tryAddRoll((char) (rollByte & 0xFF));
+        }
+    }
+
+    private void finishLastLine() throws IOException {
+        if (lineStarted) {
+            // the last line had no trailing newline
+            endLine();
+        }
+    }
+
+    private void endLine() throws IOException {
+        if (outputLength > outputBuffer.length - ScoreFormat.MAX_LINE_LENGTH) { flush(); }
+        if (lineError != 0) {
+            outputLength = ScoreFormat.writeError(lineError, outputBuffer, outputLength);
+            numInvalidLines++;
+        } else {
+            outputLength = ScoreFormat.writeLine(frameScores, game.copyScores(frameScores), outputBuffer, outputLength);
+        }
+
+        numLines++;
+        lineStarted = false;
+        lineError = 0;
+        game.reset();
+    }
+
+    private void flush() throws IOException {
+        out.write(outputBuffer, 0, outputLength);
+        outputLength = 0;
+        out.flush();
+    }
+}
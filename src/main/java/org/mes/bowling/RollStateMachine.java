@@ -0,0 +1,122 @@
+package org.mes.bowling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FrameCursor's rules compiled into a transition table indexed by (state, roll symbol).
+ *
+ * Every cursor reachable from FrameCursor.START gets a dense state number, followed by one sink
+ * state per RollError that only ever transitions to itself. The table is built by running
+ * FrameCursor on every (state, symbol) pair, so it accepts and rejects exactly what FrameCursor
+ * does. Looking up (state << 4 | symbol & 0xF) covers RollSymbols.INVALID too, since -1 & 0xF is
+ * 15, so validating a game is a chain of table loads with no data-dependent branches.
+ */
+final class RollStateMachine {
+    private static final int SYMBOL_BITS = 4;
+    private static final int SYMBOL_MASK = (1 << SYMBOL_BITS) - 1;
+
+    static final int START;
+    // states from FIRST_SINK on are the RollError sinks, in RollError order
+    static final int FIRST_SINK;
+
+    private static final int STATE_SHIFT = 16;
+    private static final int ROLL_MASK = (1 << STATE_SHIFT) - 1;
+
+    private static final byte[] NEXT_STATES;
+    // for scoring: the next state << STATE_SHIFT | the packed FrameCursor roll, or the RollError code for a rejected roll
+    private static final int[] TRANSITIONS;
+
+    static {
+        List<Integer> cursors = new ArrayList<>();
+        Map<Integer, Integer> states = new HashMap<>();
+        cursors.add(FrameCursor.START);
+        states.put(FrameCursor.START, 0);
+        for (int state = 0; state < cursors.size(); state++) {
+            int cursor = cursors.get(state);
+            for (int symbol = 0; symbol < RollSymbols.NUM_SYMBOLS; symbol++) {
+                int roll = FrameCursor.tryNextRoll(cursor, symbol);
+                if (roll >= 0 && states.putIfAbsent(FrameCursor.advance(cursor, roll), cursors.size()) == null) {
+                    cursors.add(FrameCursor.advance(cursor, roll));
+                }
+            }
+        }
+
+        START = 0;
+        FIRST_SINK = cursors.size();
+        int numStates = FIRST_SINK + RollError.values().length;
+        if (numStates > Byte.MAX_VALUE) {
+            throw new AssertionError(numStates + " states don't fit in a byte");
+        }
+        NEXT_STATES = new byte[numStates << SYMBOL_BITS];
+        TRANSITIONS = new int[numStates << SYMBOL_BITS];
+
+        for (int state = 0; state < numStates; state++) {
+            for (int column = 0; column <= SYMBOL_MASK; column++) {
+                int index = state << SYMBOL_BITS | column;
+                int roll;
+                if (state >= FIRST_SINK) {
+                    // once rejected, always rejected, with the first error kept
+                    roll = RollError.values()[state - FIRST_SINK].code();
+                } else {
+                    int symbol = column < RollSymbols.NUM_SYMBOLS ? column : RollSymbols.INVALID;
+                    roll = FrameCursor.tryNextRoll(cursors.get(state), symbol);
+                }
+                int nextState = roll >= 0
+                        ? states.get(FrameCursor.advance(cursors.get(state), roll))
+                        : FIRST_SINK + RollError.of(roll).ordinal();
+                NEXT_STATES[index] = (byte) nextState;
+                TRANSITIONS[index] = roll >= 0 ? nextState << STATE_SHIFT | roll : roll;
+            }
+        }
+    }
+
+    private RollStateMachine() {}
+
+    static int nextState(int state, int symbol) {
+        return NEXT_STATES[state << SYMBOL_BITS | symbol & SYMBOL_MASK];
+    }
+
+    // the state and packed roll for symbol in state, or a RollError result for roll index 0
+    static int transition(int state, int symbol) {
+        return TRANSITIONS[state << SYMBOL_BITS | symbol & SYMBOL_MASK];
+    }
+
+    static int state(int transition) { return transition >>> STATE_SHIFT; }
+
+    static int roll(int transition) { return transition & ROLL_MASK; }
+
+    static int numStates() {
+        return NEXT_STATES.length >> SYMBOL_BITS;
+    }
+
+    // returns 0 if rollChars[offset, offset + length) is a valid game so far, or a RollError result
+    static int validate(char[] rollChars, int offset, int length) {
+        int state = START;
+        int accepted = 0;
+        for (int index = offset, end = offset + length; index < end; index++) {
+            state = NEXT_STATES[state << SYMBOL_BITS | RollSymbols.of(rollChars[index]) & SYMBOL_MASK];
+            // counts rolls until the first rejected one, without a branch
+            accepted += (state - FIRST_SINK) >>> 31;
+        }
+        return result(state, accepted);
+    }
+
+    // same as above for ASCII bytes
+    static int validate(byte[] rollBytes, int offset, int length) {
+        int state = START;
+        int accepted = 0;
+        for (int index = offset, end = offset + length; index < end; index++) {
+            state = NEXT_STATES[state << SYMBOL_BITS | RollSymbols.of(rollBytes[index]) & SYMBOL_MASK];
+            accepted += (state - FIRST_SINK) >>> 31;
+        }
+        return result(state, accepted);
+    }
+
+    private static int result(int state, int accepted) {
+        if (state < FIRST_SINK) { return 0; }
+        return RollError.atRollIndex(RollError.values()[state - FIRST_SINK].code(), accepted);
+    }
+}
@@ -0,0 +1,52 @@
+package org.mes.bowling;
+
+import java.util.Arrays;
+
+/**
+ * Classifies roll characters with a single table lookup.
+ *
+ * A roll's symbol is the number of pins for an ordinary roll (0-9, with fouls and misses as 0),
+ * STRIKE_SYMBOL or SPARE_SYMBOL, so one small int gives validity, pins and kind. The same
+ * symbols are the 4-bit roll codes GameCodec packs games with.
+ */
+final class RollSymbols {
+    static final char STRIKE = 'X';
+    static final char SPARE = '/';
+    static final char FOUL = 'F'; // equivalent to a '0' for scoring
+    static final char MISS = '-'; // equivalent to a '0' for scoring
+
+    static final int STRIKE_SYMBOL = 10;
+    static final int SPARE_SYMBOL = 11;
+    static final int NUM_SYMBOLS = 12;
+    static final int INVALID = -1;
+
+    private static final byte[] SYMBOLS = new byte[256];
+    static {
+        Arrays.fill(SYMBOLS, (byte) INVALID);
+        for (int pins = 0; pins <= 9; pins++) {
+            SYMBOLS['0' + pins] = (byte) pins;
+        }
+        SYMBOLS[STRIKE] = STRIKE_SYMBOL;
+        SYMBOLS[SPARE] = SPARE_SYMBOL;
+        SYMBOLS[FOUL] = 0;
+        SYMBOLS[MISS] = 0;
+    }
+
+    private static final char[] SYMBOL_CHARS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', STRIKE, SPARE};
+
+    private RollSymbols() {}
+
+    static int of(char rollChar) {
+        return rollChar < SYMBOLS.length ? SYMBOLS[rollChar] : INVALID;
+    }
+
+    // bytes are read as ISO-8859-1, so ASCII input classifies the same as chars
+    static int of(byte rollByte) {
+        return SYMBOLS[rollByte & 0xFF];
+    }
+
+    // the canonical character for a symbol; fouls and misses come back as '0'
+    static char toChar(int symbol) {
+        return symbol >= 0 && symbol < NUM_SYMBOLS ? SYMBOL_CHARS[symbol] : '?';
+    }
+}
@@ -1,10 +1,26 @@
 package org.mes.bowling;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
 public class RunMe {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            // score a roll log, one game per line, from a file or from stdin ("-")
+            OutputStream out = new BufferedOutputStream(System.out, 1 << 16);
+            RollLogScorer scorer = new RollLogScorer(out);
+            if (args[0].equals("-")) {
+                scorer.score(System.in);
+            } else {
+                scorer.score(Path.of(args[0]));
+            }
+            return;
+        }
+
         System.out.println();
         System.out.println("Michael Smith's Bowling Score Calculator Examples");
         System.out.println("-------------------------------------------------");
@@ -28,6 +44,7 @@ public class RunMe {
         System.out.println("    Output: " + output3);
         System.out.println();
         System.out.println("For other examples see the unit test cases in src/test/java/org.mes.bowling/BowlingScoreCalculatorTest.java.");
+        System.out.println("To score a file with one game per line run RunMe <file>, or RunMe - to read from stdin.");
 
     }
 }
@@ -0,0 +1,47 @@
+package org.mes.bowling;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+import static org.mes.bowling.GameCodec.MAX_ROLLS;
+import static org.mes.bowling.GameColumns.BONUS_BIT;
+import static org.mes.bowling.GameColumns.LANES;
+
+/**
+ * The LaneKernel for JVMs without the Vector API. The innermost loops run over lanes with no
+ * branches, which C2 can often turn into SIMD code by itself.
+ */
+final class ScalarLaneKernel implements LaneKernel {
+    static final ScalarLaneKernel INSTANCE = new ScalarLaneKernel();
+
+    private ScalarLaneKernel() {}
+
+    @Override
+    public void scoreFrames(GameColumns columns, int from, int to) {
+        byte[] pins = columns.pins;
+        byte[] frames = columns.frames;
+        byte[] rollScores = columns.rollScores;
+        byte[] frameScores = columns.frameScores;
+
+        for (int roll = 0; roll < MAX_ROLLS; roll++) {
+            int row = roll * LANES;
+            for (int lane = from; lane < to; lane++) {
+                int i = row + lane;
+                rollScores[i] = (byte) (pins[i] + pins[i + LANES] + (frames[i] & BONUS_BIT) * pins[i + 2 * LANES]);
+            }
+        }
+
+        // frame f can only start at rolls f - 1 (all strikes) through 2f - 2 (no strikes)
+        for (int frame = 1; frame <= MAX_FRAMES; frame++) {
+            int out = (frame - 1) * LANES;
+            int startsFrame = frame << 1;
+            for (int lane = from; lane < to; lane++) {
+                frameScores[out + lane] = 0;
+            }
+            for (int roll = frame - 1; roll <= 2 * frame - 2; roll++) {
+                int row = roll * LANES;
+                for (int lane = from; lane < to; lane++) {
+                    frameScores[out + lane] += (frames[row + lane] & ~BONUS_BIT) == startsFrame ? rollScores[row + lane] : 0;
+                }
+            }
+        }
+    }
+}
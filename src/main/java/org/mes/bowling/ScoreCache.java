@@ -0,0 +1,155 @@
+package org.mes.bowling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+
+/**
+ * A bounded, thread-safe cache in front of calculateScores for traffic that scores the same
+ * games over and over.
+ *
+ * Games are keyed by their roll symbols packed 4 bits per roll (see RollSymbols), so a whole game
+ * fits in two longs, and the frame scores are packed into one long (see PackedScores). The cache is split into
+ * segments, each a least-recently-used map behind its own lock, so concurrent lookups of
+ * different games rarely wait on each other. Invalid games and games longer than
+ * GameCodec.MAX_ROLLS rolls are scored directly and never cached.
+ */
+public class ScoreCache {
+    private static final int SEGMENT_BITS = 4;
+    private static final int NUM_SEGMENTS = 1 << SEGMENT_BITS;
+
+    private final Segment[] segments = new Segment[NUM_SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ScoreCache(int maximumSize) {
+        if (maximumSize < NUM_SEGMENTS) {
+            throw new IllegalArgumentException("maximumSize must be at least " + NUM_SEGMENTS + ".");
+        }
+        for (int i = 0; i < NUM_SEGMENTS; i++) {
+            // spread the remainder so the segments add up to maximumSize
+            segments[i] = new Segment(maximumSize / NUM_SEGMENTS + (i < maximumSize % NUM_SEGMENTS ? 1 : 0));
+        }
+    }
+
+    public List<Integer> calculateScores(char[] rollChars) {
+        int[] frameScores = new int[MAX_FRAMES];
+        int numFrames = calculateScores(rollChars, 0, rollChars.length, frameScores);
+
+        List<Integer> scores = new ArrayList<>(numFrames);
+        for (int i = 0; i < numFrames; i++) {
+            scores.add(frameScores[i] == UNDETERMINED ? null : frameScores[i]);
+        }
+        return scores;
+    }
+
+    // same contract as BowlingScoreCalculator.calculateScores(char[], int, int, int[])
+    public int calculateScores(char[] rollChars, int offset, int length, int[] frameScores) {
+        Objects.checkFromIndexSize(offset, length, rollChars.length);
+        GameKey key = length <= GameCodec.MAX_ROLLS ? GameKey.of(rollChars, offset, length) : null;
+        if (key == null) {
+            return BowlingScoreCalculator.calculateScores(rollChars, offset, length, frameScores);
+        }
+
+        // the top bits pick the segment so the segment's own hash table still gets the low ones
+        Segment segment = segments[key.hashCode() >>> (Integer.SIZE - SEGMENT_BITS)];
+        Long packedScores = segment.get(key);
+        if (packedScores != null) {
+            hits.increment();
+            return PackedScores.unpack(packedScores, frameScores);
+        }
+
+        misses.increment();
+        // an invalid game throws here, before anything is cached
+        int numFrames = BowlingScoreCalculator.calculateScores(rollChars, offset, length, frameScores);
+        segment.put(key, PackedScores.pack(frameScores, numFrames));
+        return numFrames;
+    }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public long getEvictions() { return evictions.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) { size += segment.size(); }
+        }
+        return size;
+    }
+
+    private static final class GameKey {
+        // rolls 0-15 in low, rolls 16-20 in high, 4 bits each, padded with GameCodec.END_SYMBOL (all ones)
+        private final long low;
+        private final long high;
+
+        private GameKey(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        // returns null if any character is invalid
+        static GameKey of(char[] rollChars, int offset, int length) {
+            long low = -1L;
+            long high = (1L << 20) - 1;
+            for (int i = 0; i < length; i++) {
+                int symbol = RollSymbols.of(rollChars[offset + i]);
+                if (symbol == RollSymbols.INVALID) { return null; }
+                if (i < 16) {
+                    low = low & ~(0xFL << (i * 4)) | (long) symbol << (i * 4);
+                } else {
+                    high = high & ~(0xFL << ((i - 16) * 4)) | (long) symbol << ((i - 16) * 4);
+                }
+            }
+            return new GameKey(low, high);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GameKey)) { return false; }
+            GameKey other = (GameKey) o;
+            return low == other.low && high == other.high;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = (low ^ (high * 0x9E3779B97F4A7C15L)) * 0xBF58476D1CE4E5B9L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<GameKey, Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+
+        Segment(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        public synchronized Long get(Object key) { return super.get(key); }
+
+        @Override
+        public synchronized Long put(GameKey key, Long value) { return super.put(key, value); }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<GameKey, Long> eldest) {
+            if (size() > maximumSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
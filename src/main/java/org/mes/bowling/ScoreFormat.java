@@ -0,0 +1,65 @@
+package org.mes.bowling;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+
+/**
+ * Writes a line of frame scores as ASCII bytes in the same format RunMe prints a score list,
+ * e.g. "[9, 19, null]\n", without going through String. An invalid game is written as an error
+ * line, e.g. "ERR STRIKE_NOT_ON_FIRST_ROLL 1\n".
+ */
+public class ScoreFormat {
+    // a line of ten "null" scores: "[" + 10 * "null" + 9 * ", " + "]\n"
+    public static final int MAX_LINE_LENGTH = 61;
+
+    private static final byte[] NULL_SCORE = {'n', 'u', 'l', 'l'};
+    private static final byte[][] ERROR_PREFIXES = new byte[RollError.values().length][];
+    static {
+        for (RollError error : RollError.values()) {
+            ERROR_PREFIXES[error.ordinal()] = ("ERR " + error.name() + " ").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private ScoreFormat() {}
+
+    // out must have MAX_LINE_LENGTH bytes free at offset; returns the offset after the line
+    public static int writeLine(int[] frameScores, int numFrames, byte[] out, int offset) {
+        out[offset++] = '[';
+        for (int i = 0; i < numFrames; i++) {
+            if (i > 0) {
+                out[offset++] = ',';
+                out[offset++] = ' ';
+            }
+            offset = writeScore(frameScores[i], out, offset);
+        }
+        out[offset++] = ']';
+        out[offset++] = '\n';
+        return offset;
+    }
+
+    // writes "ERR <RollError> <roll index>\n" for a RollError result; also shorter than MAX_LINE_LENGTH
+    public static int writeError(int rollError, byte[] out, int offset) {
+        byte[] prefix = ERROR_PREFIXES[RollError.of(rollError).ordinal()];
+        System.arraycopy(prefix, 0, out, offset, prefix.length);
+        offset += prefix.length;
+        int rollIndex = RollError.rollIndex(rollError);
+        for (int divisor = 1_000_000_000; divisor > 1; divisor /= 10) {
+            if (rollIndex >= divisor) { out[offset++] = (byte) ('0' + rollIndex / divisor % 10); }
+        }
+        out[offset++] = (byte) ('0' + rollIndex % 10);
+        out[offset++] = '\n';
+        return offset;
+    }
+
+    private static int writeScore(int score, byte[] out, int offset) {
+        if (score == UNDETERMINED) {
+            System.arraycopy(NULL_SCORE, 0, out, offset, NULL_SCORE.length);
+            return offset + NULL_SCORE.length;
+        }
+        // frame scores are at most 30
+        if (score >= 10) { out[offset++] = (byte) ('0' + score / 10); }
+        out[offset++] = (byte) ('0' + score % 10);
+        return offset;
+    }
+}
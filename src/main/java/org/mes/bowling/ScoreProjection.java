@@ -0,0 +1,148 @@
+package org.mes.bowling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.mes.bowling.ScoringEngine.NO_ROLL;
+
+/**
+ * The lowest and highest final totals a game in progress can still reach.
+ *
+ * A game's total is the sum over its rolls of pins times how many frames count them. As in
+ * ScoringEngine.frameScore, frame f counts the roll a that starts it, the roll b right after a,
+ * and the roll after that when a is a strike or b is a spare, whatever frames those rolls are in.
+ * So a game in progress is fully described by the points counted so far, its FrameCursor, and
+ * which frames still count the next roll, and the best and worst rest of the game depend only
+ * on the last two. Those are precomputed for every reachable cursor and bonus pair by running
+ * FrameCursor's rules on every roll symbol, so a projection is a single table lookup.
+ *
+ * A projection is packed into a non-negative int, min | max << 16; a complete game has min == max.
+ */
+public final class ScoreProjection {
+    // a frame waiting for its b roll (none, started by a non-strike, or by a strike) times a frame waiting for its c roll
+    private static final int BONUS_STATES = 6;
+    private static final int B_NO_STRIKE = 1;
+    private static final int B_STRIKE = 2;
+    private static final int MAX_SHIFT = 16;
+
+    private static final short[] CURSOR_INDEX = new short[FrameCursor.NUM_CURSOR_VALUES];
+    // the fewest and most points still to come, packed like a projection, by cursor index and bonus state
+    private static final int[] REMAINING;
+
+    static {
+        List<Integer> cursors = new ArrayList<>();
+        cursors.add(FrameCursor.START);
+        CURSOR_INDEX[FrameCursor.START] = 0;
+        for (int index = 0; index < cursors.size(); index++) {
+            int cursor = cursors.get(index);
+            for (int symbol = 0; symbol < RollSymbols.NUM_SYMBOLS; symbol++) {
+                int roll = FrameCursor.tryNextRoll(cursor, symbol);
+                if (roll < 0) { continue; }
+                int next = FrameCursor.advance(cursor, roll);
+                if (next != FrameCursor.START && CURSOR_INDEX[next] == 0) {
+                    CURSOR_INDEX[next] = (short) cursors.size();
+                    cursors.add(next);
+                }
+            }
+        }
+
+        REMAINING = new int[cursors.size() * BONUS_STATES];
+        boolean[] done = new boolean[REMAINING.length];
+        for (int index = 0; index < cursors.size(); index++) {
+            for (int bonuses = 0; bonuses < BONUS_STATES; bonuses++) {
+                remaining(cursors.get(index), bonuses, done);
+            }
+        }
+    }
+
+    private ScoreProjection() {}
+
+    // fills in REMAINING for the cursor and bonuses by trying every roll; every roll brings the game closer to its end
+    private static int remaining(int cursor, int bonuses, boolean[] done) {
+        int slot = CURSOR_INDEX[cursor] * BONUS_STATES + bonuses;
+        if (done[slot]) { return REMAINING[slot]; }
+
+        int min = 0;
+        int max = 0;
+        if (!FrameCursor.isTenthFrameClosed(cursor) || bonuses != 0) {
+            min = Integer.MAX_VALUE;
+            for (int symbol = 0; symbol < RollSymbols.NUM_SYMBOLS; symbol++) {
+                int roll = FrameCursor.tryNextRoll(cursor, symbol);
+                if (roll < 0) { continue; }
+                int points = points(0, bonuses, roll);
+                int rest = remaining(FrameCursor.advance(cursor, roll), nextBonuses(bonuses, roll), done);
+                min = Math.min(min, points + min(rest));
+                max = Math.max(max, points + max(rest));
+            }
+        }
+        done[slot] = true;
+        return REMAINING[slot] = min | max << MAX_SHIFT;
+    }
+
+    /**
+     * Projects the final total of rollChars[offset, offset + length), with the same rules as
+     * calculateScores.
+     *
+     * @return the packed projection, or a negative RollError result for invalid rolls
+     */
+    public static int tryProject(char[] rollChars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, rollChars.length);
+        int cursor = FrameCursor.START;
+        int points = 0;
+        int rollBeforeLast = NO_ROLL;
+        int lastRoll = NO_ROLL;
+        for (int i = 0; i < length; i++) {
+            int roll = FrameCursor.tryNextRoll(cursor, RollSymbols.of(rollChars[offset + i]));
+            if (roll < 0) {
+                return RollError.atRollIndex(roll, i);
+            }
+            points = points(points, bonuses(rollBeforeLast, lastRoll), roll);
+            cursor = FrameCursor.advance(cursor, roll);
+            rollBeforeLast = lastRoll;
+            lastRoll = roll;
+        }
+        return project(points, cursor, bonuses(rollBeforeLast, lastRoll));
+    }
+
+    // same as tryProject, but throws for invalid rolls like calculateScores
+    public static int project(char[] rollChars, int offset, int length) {
+        int result = tryProject(rollChars, offset, length);
+        if (RollError.isError(result)) {
+            throw RollError.of(result).toException(rollChars[offset + RollError.rollIndex(result)]);
+        }
+        return result;
+    }
+
+    public static int min(int projection) { return projection & ((1 << MAX_SHIFT) - 1); }
+
+    public static int max(int projection) { return projection >>> MAX_SHIFT; }
+
+    // the projection of a game with points counted so far, at cursor, with bonuses from the last two rolls
+    static int project(int points, int cursor, int bonuses) {
+        return REMAINING[CURSOR_INDEX[cursor] * BONUS_STATES + bonuses] + (points | points << MAX_SHIFT);
+    }
+
+    // the frames counting the next roll, given the last two packed rolls (either may be NO_ROLL)
+    static int bonuses(int rollBeforeLast, int lastRoll) {
+        int bonuses = 0;
+        if (rollBeforeLast != NO_ROLL) { bonuses = nextBonuses(bonuses, rollBeforeLast); }
+        if (lastRoll != NO_ROLL) { bonuses = nextBonuses(bonuses, lastRoll); }
+        return bonuses;
+    }
+
+    // points plus what roll adds to the total, given the frames counting it before it
+    static int points(int points, int bonuses, int roll) {
+        int timesCounted = (FrameCursor.startsFrame(roll) ? 1 : 0) + (bonuses >> 1 != 0 ? 1 : 0) + (bonuses & 1);
+        return points + FrameCursor.pins(roll) * timesCounted;
+    }
+
+    // bonus states are (the frame waiting for its b roll, if any) << 1 | (1 if a frame is waiting for its c roll)
+    private static int nextBonuses(int bonuses, int roll) {
+        int waitingForB = bonuses >> 1;
+        // roll is that frame's b, so the frame wants a c if it started with a strike or roll is a spare
+        int waitingForC = waitingForB == B_STRIKE || waitingForB == B_NO_STRIKE && FrameCursor.isSpare(roll) ? 1 : 0;
+        if (!FrameCursor.startsFrame(roll)) { return waitingForC; }
+        return (FrameCursor.isStrike(roll) ? B_STRIKE : B_NO_STRIKE) << 1 | waitingForC;
+    }
+}
@@ -0,0 +1,144 @@
+package org.mes.bowling;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts, input sizes, invalid input counts and latencies of the scoring entry points.
+ *
+ * Each entry point has its own instance, since their calls differ in size:
+ *   get()                  BowlingScoreCalculator.calculateScores and tryCalculateScores, one game per call
+ *   ingestRollChars()      BowlingScoreCalculator.ingestRollChars, one game per call
+ *   incrementalScorer()    IncrementalScorer.addRoll and tryAddRoll, one roll per call
+ *   batchScorer()          BatchScorer, a batch of games per call
+ *   columnarBatchScorer()  ColumnarBatchScorer, a batch of games per call
+ * Rolls, input lengths and invalid counts are per game (per roll for the incremental scorer);
+ * latencies are per call.
+ *
+ * Metrics are off unless the JVM is started with -Dorg.mes.bowling.metrics=true. ENABLED is a
+ * static final, so when it's false the JIT removes the instrumentation entirely. When it's true,
+ * each instance is registered with the platform MBean server as OBJECT_NAME_PREFIX plus its name,
+ * e.g. org.mes.bowling:type=ScorerMetrics,name=calculateScores. Recording never takes a lock.
+ */
+public class ScorerMetrics implements ScorerMetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("org.mes.bowling.metrics");
+    public static final String OBJECT_NAME_PREFIX = "org.mes.bowling:type=ScorerMetrics,name=";
+    private static final int MAX_COUNTED_LENGTH = GameCodec.MAX_ROLLS + 1;
+
+    private static final ScorerMetrics CALCULATE_SCORES = register("calculateScores");
+    private static final ScorerMetrics INGEST_ROLL_CHARS = register("ingestRollChars");
+    private static final ScorerMetrics INCREMENTAL_SCORER = register("incrementalScorer");
+    private static final ScorerMetrics BATCH_SCORER = register("batchScorer");
+    private static final ScorerMetrics COLUMNAR_BATCH_SCORER = register("columnarBatchScorer");
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder invalidCharacters = new LongAdder();
+    private final LongAdder invalidSequences = new LongAdder();
+    private final LongAdder[] inputLengths = new LongAdder[MAX_COUNTED_LENGTH + 1];
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private volatile boolean registered;
+
+    ScorerMetrics() {
+        for (int i = 0; i < inputLengths.length; i++) {
+            inputLengths[i] = new LongAdder();
+        }
+    }
+
+    private static ScorerMetrics register(String name) {
+        ScorerMetrics metrics = new ScorerMetrics();
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME_PREFIX + name));
+                metrics.registered = true;
+            } catch (JMException e) {
+                // metrics are still recorded and available from the getters, just not over JMX
+            }
+        }
+        return metrics;
+    }
+
+    public static ScorerMetrics get() { return CALCULATE_SCORES; }
+
+    public static ScorerMetrics ingestRollChars() { return INGEST_ROLL_CHARS; }
+
+    public static ScorerMetrics incrementalScorer() { return INCREMENTAL_SCORER; }
+
+    public static ScorerMetrics batchScorer() { return BATCH_SCORER; }
+
+    public static ScorerMetrics columnarBatchScorer() { return COLUMNAR_BATCH_SCORER; }
+
+    // a call with a single input; result is the number of frames or a RollError result
+    void recordCall(int length, int result, long elapsedNanos) {
+        recordCall(elapsedNanos);
+        recordInput(length, result);
+    }
+
+    // a call whose inputs are recorded separately with recordInput
+    void recordCall(long elapsedNanos) {
+        calls.increment();
+        latencies.record(elapsedNanos);
+    }
+
+    void recordInput(int length, int result) {
+        rolls.add(length);
+        inputLengths[Math.min(length, MAX_COUNTED_LENGTH)].increment();
+        if (RollError.isError(result)) {
+            if (RollError.of(result) == RollError.INVALID_CHARACTER) {
+                invalidCharacters.increment();
+            } else {
+                invalidSequences.increment();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRegistered() { return registered; }
+
+    @Override
+    public long getCalls() { return calls.sum(); }
+
+    @Override
+    public long getRolls() { return rolls.sum(); }
+
+    @Override
+    public long getInvalidCharacterCount() { return invalidCharacters.sum(); }
+
+    @Override
+    public long getInvalidSequenceCount() { return invalidSequences.sum(); }
+
+    @Override
+    public long[] getInputLengthCounts() {
+        long[] counts = new long[inputLengths.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = inputLengths[i].sum();
+        }
+        return counts;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() { return latencies.getValueAtPercentile(50); }
+
+    @Override
+    public long getLatencyP99Nanos() { return latencies.getValueAtPercentile(99); }
+
+    @Override
+    public long getLatencyP999Nanos() { return latencies.getValueAtPercentile(99.9); }
+
+    @Override
+    public long getLatencyMaxNanos() { return latencies.getMaxValue(); }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        rolls.reset();
+        invalidCharacters.reset();
+        invalidSequences.reset();
+        for (LongAdder inputLength : inputLengths) {
+            inputLength.reset();
+        }
+        latencies.reset();
+    }
+}
@@ -0,0 +1,28 @@
+package org.mes.bowling;
+
+// What each ScorerMetrics exposes over JMX, under ScorerMetrics.OBJECT_NAME_PREFIX plus its name
+public interface ScorerMetricsMXBean {
+    // false if registering with the platform MBean server failed, or metrics are off
+    boolean isRegistered();
+
+    long getCalls();
+
+    long getRolls();
+
+    long getInvalidCharacterCount();
+
+    long getInvalidSequenceCount();
+
+    // index n is the number of calls with n rolls, the last index counts every longer input
+    long[] getInputLengthCounts();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+
+    void reset();
+}
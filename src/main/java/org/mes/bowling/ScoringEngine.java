@@ -0,0 +1,111 @@
+package org.mes.bowling;
+
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+
+/**
+ * Computes frame scores in a single pass over the rolls.
+ *
+ * A frame's score only ever depends on its first roll and the two rolls that follow it,
+ * so we keep a window of the last three packed rolls (see {@link FrameCursor}) and score
+ * a frame once its first roll is two rolls behind, or when the input runs out.
+ * Each roll comes from a single RollStateMachine table lookup rather than FrameCursor's branches.
+ * Nothing is allocated, even for invalid input.
+ */
+final class ScoringEngine {
+    static final int NO_ROLL = -1;
+
+    private ScoringEngine() {}
+
+    // writes the scores to frameScores starting at scoresOffset and returns the number of frames,
+    // or a RollError result for the first invalid roll
+    static int scoreFrames(char[] rollChars, int offset, int length, int[] frameScores, int scoresOffset) {
+        int scoreIndex = scoresOffset;
+        int state = RollStateMachine.START;
+        int first = NO_ROLL;
+        int second = NO_ROLL;
+
+        for (int index = offset, end = offset + length; index < end; index++) {
+            int transition = RollStateMachine.transition(state, RollSymbols.of(rollChars[index]));
+            if (transition < 0) { return RollError.atRollIndex(transition, index - offset); }
+            state = RollStateMachine.state(transition);
+            int third = RollStateMachine.roll(transition);
+            scoreIndex = scoreFrameBehind(first, second, third, frameScores, scoreIndex);
+            first = second;
+            second = third;
+        }
+
+        return scoreLastFrames(first, second, frameScores, scoreIndex) - scoresOffset;
+    }
+
+    // same as above for ASCII bytes
+    static int scoreFrames(byte[] rollBytes, int offset, int length, int[] frameScores, int scoresOffset) {
+        int scoreIndex = scoresOffset;
+        int state = RollStateMachine.START;
+        int first = NO_ROLL;
+        int second = NO_ROLL;
+
+        for (int index = offset, end = offset + length; index < end; index++) {
+            int transition = RollStateMachine.transition(state, RollSymbols.of(rollBytes[index]));
+            if (transition < 0) { return RollError.atRollIndex(transition, index - offset); }
+            state = RollStateMachine.state(transition);
+            int third = RollStateMachine.roll(transition);
+            scoreIndex = scoreFrameBehind(first, second, third, frameScores, scoreIndex);
+            first = second;
+            second = third;
+        }
+
+        return scoreLastFrames(first, second, frameScores, scoreIndex) - scoresOffset;
+    }
+
+    // once a roll arrives, a frame started two rolls earlier has its full lookahead; returns the next scoreIndex
+    static int scoreFrameBehind(int first, int second, int third, int[] frameScores, int scoreIndex) {
+        if (first != NO_ROLL && FrameCursor.startsFrame(first)) {
+            frameScores[scoreIndex++] = frameScore(first, second, third);
+        }
+        return scoreIndex;
+    }
+
+    // the last two rolls don't have a full lookahead window; returns the next scoreIndex
+    static int scoreLastFrames(int first, int second, int[] frameScores, int scoreIndex) {
+        if (first != NO_ROLL && FrameCursor.startsFrame(first)) {
+            frameScores[scoreIndex++] = frameScore(first, second, NO_ROLL);
+        }
+        if (second != NO_ROLL && FrameCursor.startsFrame(second)) {
+            frameScores[scoreIndex++] = frameScore(second, NO_ROLL, NO_ROLL);
+        }
+        return scoreIndex;
+    }
+
+    /**
+     * Updates a game's PackedScores for a new roll, given the two rolls before it. Only the frames
+     * started by those three rolls can change, so this is constant time.
+     */
+    static long addRoll(long packedScores, int rollBeforeLast, int lastRoll, int roll) {
+        if (FrameCursor.startsFrame(roll)) {
+            // a single roll is never enough to define a frame's score
+            packedScores = PackedScores.withScore(packedScores, FrameCursor.frame(roll), UNDETERMINED);
+        }
+        if (lastRoll != NO_ROLL && FrameCursor.startsFrame(lastRoll)) {
+            packedScores = PackedScores.withScore(packedScores, FrameCursor.frame(lastRoll), frameScore(lastRoll, roll, NO_ROLL));
+        }
+        if (rollBeforeLast != NO_ROLL && FrameCursor.startsFrame(rollBeforeLast)) {
+            // this frame now has its full lookahead, so its score won't change again
+            packedScores = PackedScores.withScore(packedScores, FrameCursor.frame(rollBeforeLast), frameScore(rollBeforeLast, lastRoll, roll));
+        }
+        return packedScores;
+    }
+
+    // scores the frame starting with firstRoll, using NO_ROLL for rolls that haven't happened yet
+    static int frameScore(int firstRoll, int secondRoll, int thirdRoll) {
+        if (secondRoll == NO_ROLL) { return UNDETERMINED; }
+
+        int score = FrameCursor.pins(firstRoll) + FrameCursor.pins(secondRoll);
+        if (!FrameCursor.isStrike(firstRoll) && !FrameCursor.isSpare(secondRoll)) {
+            // this frame has two rolls with no strikes or spares
+            return score;
+        }
+
+        // a strike or a spare needs one more roll to define the score
+        return thirdRoll == NO_ROLL ? UNDETERMINED : score + FrameCursor.pins(thirdRoll);
+    }
+}
@@ -0,0 +1,173 @@
+package org.mes.bowling.server;
+
+import org.mes.bowling.LatencyHistogram;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a ScoreServer over loopback with pipelined requests and reports throughput and latency.
+ *
+ * Each connection runs on its own thread and repeatedly writes pipelineDepth requests in one go,
+ * then reads their responses; a request's latency runs from that write to its response line.
+ *
+ *   java -cp scores.jar org.mes.bowling.server.LoadGenerator [host] [port] [connections] [seconds] [pipelineDepth]
+ */
+public class LoadGenerator {
+    private static final String[] GAMES = {
+            "45X81",
+            "XXXXXXXXXXXX",
+            "XXXXXXXXX9/X",
+            "5/5/5/5/5/5/5/5/5/5/5",
+            "F-091/X34-/XX728/9",
+            "4",
+            "1X5",
+    };
+
+    private final InetSocketAddress address;
+    private final int connections;
+    private final int pipelineDepth;
+
+    public LoadGenerator(InetSocketAddress address, int connections, int pipelineDepth) {
+        if (connections < 1 || pipelineDepth < 1) {
+            throw new IllegalArgumentException("connections and pipelineDepth must be at least 1");
+        }
+        this.address = address;
+        this.connections = connections;
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : ScoreServer.DEFAULT_PORT;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        long seconds = args.length > 3 ? Long.parseLong(args[3]) : 10;
+        int pipelineDepth = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+
+        Result result = new LoadGenerator(new InetSocketAddress(host, port), connections, pipelineDepth)
+                .run(seconds, TimeUnit.SECONDS);
+        System.out.println(result);
+    }
+
+    public Result run(long duration, TimeUnit unit) throws IOException, InterruptedException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        long deadline = System.nanoTime() + unit.toNanos(duration);
+
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            workers.add(new Worker(new Socket(address.getAddress(), address.getPort()), latencies, deadline, i));
+        }
+        long start = System.nanoTime();
+        for (Worker worker : workers) {
+            worker.start();
+        }
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw worker.failure;
+            }
+        }
+        return new Result(latencies, elapsed);
+    }
+
+    private final class Worker extends Thread {
+        private final Socket socket;
+        private final LatencyHistogram latencies;
+        private final long deadline;
+        private final byte[] batch;
+        private IOException failure;
+
+        Worker(Socket socket, LatencyHistogram latencies, long deadline, int index) throws IOException {
+            super("load-generator-" + index);
+            this.socket = socket;
+            this.latencies = latencies;
+            this.deadline = deadline;
+            socket.setTcpNoDelay(true);
+
+            StringBuilder requests = new StringBuilder();
+            for (int i = 0; i < pipelineDepth; i++) {
+                requests.append(GAMES[(index + i) % GAMES.length]).append('\n');
+            }
+            batch = requests.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public void run() {
+            try (Socket s = socket) {
+                OutputStream out = s.getOutputStream();
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    out.write(batch);
+                    out.flush();
+                    for (int i = 0; i < pipelineDepth; i++) {
+                        readLine(in);
+                        latencies.record(System.nanoTime() - sent);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private void readLine(InputStream in) throws IOException {
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new IOException("Server closed the connection");
+                }
+            }
+        }
+    }
+
+    public static final class Result {
+        private final long requests;
+        private final long elapsedNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        Result(LatencyHistogram latencies, long elapsedNanos) {
+            this.requests = latencies.getCount();
+            this.elapsedNanos = elapsedNanos;
+            this.p50Nanos = latencies.getValueAtPercentile(50);
+            this.p99Nanos = latencies.getValueAtPercentile(99);
+            this.p999Nanos = latencies.getValueAtPercentile(99.9);
+            this.maxNanos = latencies.getMaxValue();
+        }
+
+        public long getRequests() { return requests; }
+
+        public double getRequestsPerSecond() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        public long getP50Nanos() { return p50Nanos; }
+
+        public long getP99Nanos() { return p99Nanos; }
+
+        public long getP999Nanos() { return p999Nanos; }
+
+        public long getMaxNanos() { return maxNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d throughput=%.0f/s p50=%dus p99=%dus p99.9=%dus max=%dus",
+                    requests, getRequestsPerSecond(),
+                    p50Nanos / 1000, p99Nanos / 1000, p999Nanos / 1000, maxNanos / 1000);
+        }
+    }
+}
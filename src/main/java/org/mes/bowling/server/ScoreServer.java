@@ -0,0 +1,229 @@
+package org.mes.bowling.server;
+
+import org.mes.bowling.BowlingScoreCalculator;
+import org.mes.bowling.RollError;
+import org.mes.bowling.ScoreFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * A small embedded TCP server that scores games, run on one NIO selector thread.
+ *
+ * The protocol is line based: each request is a line of roll characters (a trailing '\r' is
+ * ignored) and each response is a line of frame scores in ScoreFormat, e.g. "[9, 19, 9]", or
+ * "ERR <RollError> <roll index>" for an invalid game. Clients may pipeline any number of
+ * requests; responses come back in order. A last request without a '\n' is scored when the
+ * client shuts down its output. A request longer than MAX_LINE_LENGTH bytes gets
+ * "ERR LINE_TOO_LONG" and the connection is closed.
+ *
+ * If the selector itself fails, every connection is closed and close() throws the failure.
+ *
+ *   java -cp scores.jar org.mes.bowling.server.ScoreServer [port]
+ */
+public class ScoreServer implements Closeable {
+    public static final int DEFAULT_PORT = 7777;
+    public static final int MAX_LINE_LENGTH = 8 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] LINE_TOO_LONG = "ERR LINE_TOO_LONG\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread eventLoop;
+    private final int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    public ScoreServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        eventLoop = new Thread(this::run, "score-server");
+        eventLoop.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ScoreServer server = new ScoreServer(new InetSocketAddress(port));
+        System.out.println("Scoring games on port " + server.getPort());
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (selector.isOpen()) {
+            closeChannels();
+        }
+        if (failure != null) {
+            throw new IOException("The score server's selector failed.", failure);
+        }
+    }
+
+    private void closeChannels() throws IOException {
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else if (key.isReadable()) {
+                            read(key);
+                        } else if (key.isWritable()) {
+                            scoreAndWrite(key);
+                        }
+                    } catch (IOException e) {
+                        // a broken connection only affects that client
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+            } catch (IOException e) {
+                // no client can be served any more, so don't leave them waiting
+                failure = e;
+                try {
+                    closeChannels();
+                } catch (IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+                return;
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) { return; }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        if (channel.read(connection.input) < 0) {
+            connection.endOfInput = true;
+        }
+        scoreAndWrite(key);
+    }
+
+    private void scoreAndWrite(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer input = connection.input;
+        ByteBuffer output = connection.output;
+
+        while (true) {
+            input.flip();
+            scoreCompleteLines(input, output);
+            input.compact();
+            if (!input.hasRemaining() && output.remaining() >= ScoreFormat.MAX_LINE_LENGTH) {
+                // a full buffer with no newline in it
+                output.put(LINE_TOO_LONG);
+                connection.closeAfterWrite = true;
+            } else if (connection.endOfInput && !hasCompleteLine(input) && output.remaining() >= ScoreFormat.MAX_LINE_LENGTH) {
+                // the client is done sending, so whatever is left is its last request
+                if (input.position() > 0) {
+                    output.position(scoreLine(input.array(), 0, input.position(), output.array(), output.position()));
+                    input.clear();
+                }
+                connection.closeAfterWrite = true;
+            }
+
+            output.flip();
+            channel.write(output);
+            output.compact();
+
+            if (output.position() > 0) {
+                // the client isn't keeping up, so stop reading its requests until it does
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            if (connection.closeAfterWrite) {
+                channel.close();
+                return;
+            }
+            if (!hasCompleteLine(input)) {
+                key.interestOps(SelectionKey.OP_READ);
+                return;
+            }
+        }
+    }
+
+    // scores lines until the input runs out of complete lines or the output runs out of room
+    private void scoreCompleteLines(ByteBuffer input, ByteBuffer output) {
+        byte[] bytes = input.array();
+        byte[] out = output.array();
+        int outPosition = output.position();
+        int outLimit = output.limit() - ScoreFormat.MAX_LINE_LENGTH;
+
+        int lineStart = input.position();
+        for (int i = lineStart, limit = input.limit(); i < limit && outPosition <= outLimit; i++) {
+            if (bytes[i] != '\n') { continue; }
+
+            outPosition = scoreLine(bytes, lineStart, i, out, outPosition);
+            lineStart = i + 1;
+        }
+
+        input.position(lineStart);
+        output.position(outPosition);
+    }
+
+    // scores bytes[start, end) without its line ending and writes the response; returns the new output position
+    private int scoreLine(byte[] bytes, int start, int end, byte[] out, int outPosition) {
+        int lineEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+        int result = BowlingScoreCalculator.tryCalculateScores(bytes, start, lineEnd - start, frameScores);
+        return RollError.isError(result)
+                ? ScoreFormat.writeError(result, out, outPosition)
+                : ScoreFormat.writeLine(frameScores, result, out, outPosition);
+    }
+
+    private static boolean hasCompleteLine(ByteBuffer input) {
+        byte[] bytes = input.array();
+        for (int i = 0, end = input.position(); i < end; i++) {
+            if (bytes[i] == '\n') { return true; }
+        }
+        return false;
+    }
+
+    private static final class Connection {
+        final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_LENGTH);
+        final ByteBuffer output = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+        boolean closeAfterWrite;
+        boolean endOfInput;
+    }
+}
@@ -0,0 +1,311 @@
+package org.mes.bowling.workload;
+
+import org.mes.bowling.BatchScorer;
+import org.mes.bowling.BowlingScoreCalculator;
+import org.mes.bowling.ColumnarBatchScorer;
+import org.mes.bowling.GameStatistics;
+import org.mes.bowling.IncrementalScorer;
+import org.mes.bowling.LatencyHistogram;
+import org.mes.bowling.LiveGameRegistry;
+import org.mes.bowling.RollError;
+import org.mes.bowling.RollLogScorer;
+import org.mes.bowling.ScoreCache;
+import org.mes.bowling.ScoreProjection;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs a workload through every scoring entry point and reports throughput and latency, one JSON
+ * object per entry point and line, so results can be stored and compared between releases.
+ *
+ * Each measured round makes two passes over the games: one timed as a whole for throughput, and
+ * one timing every call for the latency percentiles. A call scores one game, except for the batch
+ * scorers (BATCH_SIZE games) and RollLogScorer (the whole workload as one log). Per-call timing
+ * adds a few tens of nanoseconds to the latencies of the cheapest calls. Entry points that throw
+ * for invalid games are measured with the exceptions, as callers would see them. For steady-state
+ * numbers of single methods use the JMH benchmarks instead.
+ *
+ *   java -cp scores.jar org.mes.bowling.workload.ScoringHarness <workload file> [rounds] [warmupRounds]
+ */
+public class ScoringHarness {
+    public static final int DEFAULT_ROUNDS = 5;
+    public static final int DEFAULT_WARMUP_ROUNDS = 3;
+    static final int BATCH_SIZE = 1024;
+
+    private final String workload;
+    private final char[][] games;
+    private final List<EntryPoint> entryPoints = new ArrayList<>();
+    // every result is added here so the JIT can't drop the work
+    private long sink;
+
+    public ScoringHarness(String workload, char[][] games) {
+        this.workload = workload;
+        this.games = games;
+        addEntryPoints();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ScoringHarness <workload file> [rounds] [warmupRounds]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int warmupRounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_WARMUP_ROUNDS;
+
+        ScoringHarness harness = new ScoringHarness(file.getFileName().toString(), WorkloadGenerator.read(file));
+        for (Result result : harness.run(warmupRounds, rounds)) {
+            System.out.println(result.toJson());
+        }
+    }
+
+    public List<String> getEntryPoints() {
+        List<String> names = new ArrayList<>(entryPoints.size());
+        for (EntryPoint entryPoint : entryPoints) {
+            names.add(entryPoint.name);
+        }
+        return names;
+    }
+
+    // runs every entry point in turn, each with its own warm-up
+    public List<Result> run(int warmupRounds, int rounds) {
+        if (warmupRounds < 0 || rounds < 1) {
+            throw new IllegalArgumentException("rounds must be at least 1 and warmupRounds at least 0");
+        }
+        List<Result> results = new ArrayList<>(entryPoints.size());
+        for (EntryPoint entryPoint : entryPoints) {
+            for (int round = 0; round < warmupRounds; round++) {
+                timeRound(entryPoint);
+            }
+            long elapsedNanos = 0;
+            LatencyHistogram latencies = new LatencyHistogram();
+            for (int round = 0; round < rounds; round++) {
+                elapsedNanos += timeRound(entryPoint);
+                timeCalls(entryPoint, latencies);
+            }
+            results.add(new Result(workload, entryPoint, (long) games.length * rounds, elapsedNanos, latencies));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private long timeRound(EntryPoint entryPoint) {
+        long start = System.nanoTime();
+        for (int first = 0; first < games.length; first += entryPoint.gamesPerCall) {
+            sink += entryPoint.call.score(first, Math.min(entryPoint.gamesPerCall, games.length - first));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void timeCalls(EntryPoint entryPoint, LatencyHistogram latencies) {
+        for (int first = 0; first < games.length; first += entryPoint.gamesPerCall) {
+            long start = System.nanoTime();
+            sink += entryPoint.call.score(first, Math.min(entryPoint.gamesPerCall, games.length - first));
+            latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    private void addEntryPoints() {
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        byte[][] gameBytes = new byte[games.length][];
+        for (int game = 0; game < games.length; game++) {
+            gameBytes[game] = new String(games[game]).getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        add("calculateScores", 1, (first, count) -> {
+            try {
+                return BowlingScoreCalculator.calculateScores(games[first]).size();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        });
+        add("tryCalculateScores", 1, (first, count) ->
+                BowlingScoreCalculator.tryCalculateScores(games[first], 0, games[first].length, frameScores));
+        add("tryCalculateScoresBytes", 1, (first, count) ->
+                BowlingScoreCalculator.tryCalculateScores(gameBytes[first], 0, gameBytes[first].length, frameScores));
+        add("validateRolls", 1, (first, count) ->
+                BowlingScoreCalculator.validateRolls(games[first], 0, games[first].length));
+        add("ingestRollChars", 1, (first, count) -> {
+            try {
+                return BowlingScoreCalculator.ingestRollChars(games[first]).size();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        });
+        add("ingestFrames", 1, (first, count) -> {
+            try {
+                return BowlingScoreCalculator.ingestFrames(games[first]).size();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        });
+        add("scoreProjection", 1, (first, count) -> ScoreProjection.tryProject(games[first], 0, games[first].length));
+
+        IncrementalScorer scorer = new IncrementalScorer();
+        add("incrementalScorer", 1, (first, count) -> {
+            scorer.reset();
+            for (char rollChar : games[first]) {
+                if (RollError.isError(scorer.tryAddRoll(rollChar))) { return -1; }
+            }
+            return scorer.getNumFrames();
+        });
+        LiveGameRegistry registry = new LiveGameRegistry();
+        add("liveGameRegistry", 1, (first, count) -> {
+            long result = 0;
+            for (char rollChar : games[first]) {
+                if (RollError.isError(registry.tryAddRoll(first, rollChar))) {
+                    result = -1;
+                    break;
+                }
+            }
+            result += registry.getScores(first, frameScores);
+            registry.remove(first);
+            return result;
+        });
+        ScoreCache cache = new ScoreCache(1 << 16);
+        add("scoreCache", 1, (first, count) -> {
+            try {
+                return cache.calculateScores(games[first], 0, games[first].length, frameScores);
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        });
+        GameStatistics statistics = new GameStatistics();
+        add("gameStatistics", 1, (first, count) -> statistics.add(games[first], 0, games[first].length));
+
+        char[][][] batches = new char[(games.length + BATCH_SIZE - 1) / BATCH_SIZE][][];
+        for (int batch = 0; batch < batches.length; batch++) {
+            batches[batch] = Arrays.copyOfRange(games, batch * BATCH_SIZE, Math.min((batch + 1) * BATCH_SIZE, games.length));
+        }
+        int[] batchScores = new int[BATCH_SIZE * BowlingScoreCalculator.MAX_FRAMES];
+        int[] batchCounts = new int[BATCH_SIZE];
+        add("batchScorer", BATCH_SIZE, (first, count) -> {
+            BatchScorer.tryCalculateScores(batches[first / BATCH_SIZE], batchScores, batchCounts);
+            return batchCounts[count - 1];
+        });
+        add("columnarBatchScorer", BATCH_SIZE, (first, count) -> {
+            ColumnarBatchScorer.tryCalculateScores(batches[first / BATCH_SIZE], batchScores, batchCounts);
+            return batchCounts[count - 1];
+        });
+
+        byte[] rollLog = rollLog(gameBytes);
+        add("rollLogScorer", Math.max(games.length, 1), (first, count) -> {
+            try {
+                return new RollLogScorer(OutputStream.nullOutputStream()).score(new ByteArrayInputStream(rollLog));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void add(String name, int gamesPerCall, Call call) {
+        entryPoints.add(new EntryPoint(name, gamesPerCall, call));
+    }
+
+    private static byte[] rollLog(byte[][] gameBytes) {
+        int size = 0;
+        for (byte[] game : gameBytes) {
+            size += game.length + 1;
+        }
+        byte[] log = new byte[size];
+        int position = 0;
+        for (byte[] game : gameBytes) {
+            System.arraycopy(game, 0, log, position, game.length);
+            position += game.length;
+            log[position++] = '\n';
+        }
+        return log;
+    }
+
+    // scores games[first, first + count) and returns something that depends on the result
+    private interface Call {
+        long score(int first, int count);
+    }
+
+    private static final class EntryPoint {
+        private final String name;
+        private final int gamesPerCall;
+        private final Call call;
+
+        EntryPoint(String name, int gamesPerCall, Call call) {
+            this.name = name;
+            this.gamesPerCall = gamesPerCall;
+            this.call = call;
+        }
+    }
+
+    public static final class Result {
+        private final String workload;
+        private final String entryPoint;
+        private final int gamesPerCall;
+        private final long games;
+        private final long elapsedNanos;
+        private final long calls;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        Result(String workload, EntryPoint entryPoint, long games, long elapsedNanos, LatencyHistogram latencies) {
+            this.workload = workload;
+            this.entryPoint = entryPoint.name;
+            this.gamesPerCall = entryPoint.gamesPerCall;
+            this.games = games;
+            this.elapsedNanos = elapsedNanos;
+            this.calls = latencies.getCount();
+            this.p50Nanos = latencies.getValueAtPercentile(50);
+            this.p90Nanos = latencies.getValueAtPercentile(90);
+            this.p99Nanos = latencies.getValueAtPercentile(99);
+            this.p999Nanos = latencies.getValueAtPercentile(99.9);
+            this.maxNanos = latencies.getMaxValue();
+        }
+
+        public String getWorkload() { return workload; }
+
+        public String getEntryPoint() { return entryPoint; }
+
+        public int getGamesPerCall() { return gamesPerCall; }
+
+        public long getGames() { return games; }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        public long getCalls() { return calls; }
+
+        public long getP50Nanos() { return p50Nanos; }
+
+        public long getP90Nanos() { return p90Nanos; }
+
+        public long getP99Nanos() { return p99Nanos; }
+
+        public long getP999Nanos() { return p999Nanos; }
+
+        public long getMaxNanos() { return maxNanos; }
+
+        // one line of JSON; names are plain identifiers, so nothing needs escaping except the workload name
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"workload\":\"%s\",\"entryPoint\":\"%s\",\"gamesPerCall\":%d,\"games\":%d,\"gamesPerSecond\":%.1f,"
+                            + "\"calls\":%d,\"p50Nanos\":%d,\"p90Nanos\":%d,\"p99Nanos\":%d,\"p999Nanos\":%d,\"maxNanos\":%d}",
+                    workload.replace("\\", "\\\\").replace("\"", "\\\""), entryPoint, gamesPerCall, games,
+                    getGamesPerSecond(), calls, p50Nanos, p90Nanos, p99Nanos, p999Nanos, maxNanos);
+        }
+
+        @Override
+        public String toString() {
+            return toJson();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.mes.bowling.workload;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates roll sequences for load and regression testing. The same seed and settings always
+ * give the same games.
+ *
+ * Every standing pin falls with probability skill on each roll, so skill 1 bowls perfect games
+ * and high skill gives long strike chains. A partialRatio share of games is cut off after a random
+ * roll, and a corruptionRate share gets one deliberate error: an invalid character, a strike on
+ * a second roll, or a spare on a first roll. Every other game is complete and valid.
+ *
+ *   java -cp scores.jar org.mes.bowling.workload.WorkloadGenerator <file> [games] [seed] [skill] [partialRatio] [corruptionRate]
+ */
+public class WorkloadGenerator {
+    public static final long DEFAULT_SEED = 22;
+    public static final double DEFAULT_SKILL = 0.75;
+    public static final double DEFAULT_PARTIAL_RATIO = 0.2;
+    public static final double DEFAULT_CORRUPTION_RATE = 0.05;
+
+    private static final int MAX_ROLLS = 21;
+    private static final char[] INVALID_CHARACTERS = {'Q', 'A', '*', '?'};
+
+    private final Random random;
+    private final double skill;
+    private final double partialRatio;
+    private final double corruptionRate;
+
+    // reused by every game: the rolls, and the index of every first and second roll in frames 1-9
+    private final char[] rolls = new char[MAX_ROLLS];
+    private final int[] firstRolls = new int[MAX_ROLLS];
+    private final int[] secondRolls = new int[MAX_ROLLS];
+    private int numFirstRolls;
+    private int numSecondRolls;
+
+    public WorkloadGenerator(long seed) {
+        this(seed, DEFAULT_SKILL, DEFAULT_PARTIAL_RATIO, DEFAULT_CORRUPTION_RATE);
+    }
+
+    public WorkloadGenerator(long seed, double skill, double partialRatio, double corruptionRate) {
+        checkProbability("skill", skill);
+        checkProbability("partialRatio", partialRatio);
+        checkProbability("corruptionRate", corruptionRate);
+        this.random = new Random(seed);
+        this.skill = skill;
+        this.partialRatio = partialRatio;
+        this.corruptionRate = corruptionRate;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: WorkloadGenerator <file> [games] [seed] [skill] [partialRatio] [corruptionRate]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int numGames = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        double skill = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_SKILL;
+        double partialRatio = args.length > 4 ? Double.parseDouble(args[4]) : DEFAULT_PARTIAL_RATIO;
+        double corruptionRate = args.length > 5 ? Double.parseDouble(args[5]) : DEFAULT_CORRUPTION_RATE;
+
+        new WorkloadGenerator(seed, skill, partialRatio, corruptionRate).write(file, numGames);
+    }
+
+    public char[] nextGame() {
+        int length = completeGame();
+        if (length > 1 && random.nextDouble() < partialRatio) {
+            length = 1 + random.nextInt(length - 1);
+        }
+        if (random.nextDouble() < corruptionRate) {
+            corrupt(length);
+        }
+        return Arrays.copyOf(rolls, length);
+    }
+
+    public char[][] nextGames(int numGames) {
+        char[][] games = new char[numGames][];
+        for (int game = 0; game < numGames; game++) {
+            games[game] = nextGame();
+        }
+        return games;
+    }
+
+    // writes numGames games to file, one per line, in the format RunMe and RollLogScorer read
+    public void write(Path file, int numGames) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int game = 0; game < numGames; game++) {
+                writer.write(nextGame());
+                writer.write('\n');
+            }
+        }
+    }
+
+    // reads a file written by write, one game per line
+    public static char[][] read(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.US_ASCII).stream()
+                .map(String::toCharArray)
+                .toArray(char[][]::new);
+    }
+
+    // fills rolls with a complete game and returns its length
+    private int completeGame() {
+        int length = 0;
+        numFirstRolls = 0;
+        numSecondRolls = 0;
+        for (int frame = 1; frame <= 9; frame++) {
+            firstRolls[numFirstRolls++] = length;
+            int first = knockDown(10);
+            if (first == 10) {
+                rolls[length++] = 'X';
+                continue;
+            }
+            rolls[length++] = (char) ('0' + first);
+            secondRolls[numSecondRolls++] = length;
+            int second = knockDown(10 - first);
+            rolls[length++] = symbol(second, 10 - first, false);
+        }
+
+        // the 10th frame, with its extra rolls after a strike or spare
+        int first = knockDown(10);
+        rolls[length++] = symbol(first, 10, true);
+        int standing = first == 10 ? 10 : 10 - first;
+        int second = knockDown(standing);
+        rolls[length++] = symbol(second, standing, first == 10);
+        if (first == 10 || first + second == 10) {
+            boolean freshRack = first != 10 || second == 10;
+            standing = freshRack ? 10 : 10 - second;
+            rolls[length++] = symbol(knockDown(standing), standing, freshRack);
+        }
+        return length;
+    }
+
+    // a strike or spare when every standing pin fell, otherwise the number of pins
+    private static char symbol(int pins, int standing, boolean freshRack) {
+        if (pins == standing) {
+            return freshRack ? 'X' : '/';
+        }
+        return (char) ('0' + pins);
+    }
+
+    private int knockDown(int standing) {
+        int pins = 0;
+        for (int pin = 0; pin < standing; pin++) {
+            if (random.nextDouble() < skill) { pins++; }
+        }
+        return pins;
+    }
+
+    // puts one error into rolls[0, length), falling back to an invalid character when the game has no room for the error picked
+    private void corrupt(int length) {
+        int kind = random.nextInt(3);
+        int eligible = kind == 1 ? countBelow(secondRolls, numSecondRolls, length) : countBelow(firstRolls, numFirstRolls, length);
+        if (kind == 1 && eligible > 0) {
+            rolls[secondRolls[random.nextInt(eligible)]] = 'X';
+        } else if (kind == 2 && eligible > 0) {
+            rolls[firstRolls[random.nextInt(eligible)]] = '/';
+        } else {
+            rolls[random.nextInt(length)] = INVALID_CHARACTERS[random.nextInt(INVALID_CHARACTERS.length)];
+        }
+    }
+
+    private static int countBelow(int[] indexes, int count, int length) {
+        int below = 0;
+        while (below < count && indexes[below] < length) { below++; }
+        return below;
+    }
+
+    private static void checkProbability(String name, double value) {
+        if (!(value >= 0 && value <= 1)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1, was " + value);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollSequenceException;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class BatchScorerTest {
+    private static final char[][] EXAMPLE_GAMES = {
+            {},
+            {'4', '5', 'X', '8'},
+            {'4', '5', 'X', '8', '1'},
+            {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X'},
+            {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', '9', '/', 'X'},
+            {'5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5'},
+    };
+
+    @Test
+    public void calculateScores_gameArrayLargerThanOneTask_matchesSingleGameScores() {
+        char[][] games = new char[BatchScorer.GAMES_PER_TASK * 5 + 3][];
+        for (int game = 0; game < games.length; game++) {
+            games[game] = EXAMPLE_GAMES[game % EXAMPLE_GAMES.length];
+        }
+        int[] frameScores = new int[games.length * BowlingScoreCalculator.MAX_FRAMES];
+        int[] frameCounts = new int[games.length];
+
+        BatchScorer.calculateScores(games, frameScores, frameCounts);
+
+        for (int game = 0; game < games.length; game++) {
+            assertGameScores(games[game], frameScores, frameCounts, game);
+        }
+    }
+
+    @Test
+    public void calculateScores_flatRollsWithOffsets_matchesSingleGameScores() {
+        int numGames = BatchScorer.GAMES_PER_TASK * 3 + 1;
+        StringBuilder rolls = new StringBuilder();
+        int[] gameOffsets = new int[numGames + 1];
+        for (int game = 0; game < numGames; game++) {
+            rolls.append(EXAMPLE_GAMES[game % EXAMPLE_GAMES.length]);
+            gameOffsets[game + 1] = rolls.length();
+        }
+        int[] frameScores = new int[numGames * BowlingScoreCalculator.MAX_FRAMES];
+        int[] frameCounts = new int[numGames];
+
+        BatchScorer.calculateScores(rolls.toString().toCharArray(), gameOffsets, frameScores, frameCounts);
+
+        for (int game = 0; game < numGames; game++) {
+            assertGameScores(EXAMPLE_GAMES[game % EXAMPLE_GAMES.length], frameScores, frameCounts, game);
+        }
+    }
+
+    @Test(expected = InvalidRollSequenceException.class)
+    public void calculateScores_invalidGameInParallelBatch_exceptionThrown() {
+        char[][] games = new char[BatchScorer.GAMES_PER_TASK * 4][];
+        Arrays.fill(games, EXAMPLE_GAMES[3]);
+        games[games.length - 1] = new char[]{'1', 'X', '5'};
+
+        BatchScorer.calculateScores(games, new int[games.length * BowlingScoreCalculator.MAX_FRAMES], new int[games.length]);
+    }
+
+    @Test
+    public void tryCalculateScores_invalidGamesInParallelBatch_errorResultsAndOtherGamesScored() {
+        char[][] games = new char[BatchScorer.GAMES_PER_TASK * 4][];
+        Arrays.fill(games, EXAMPLE_GAMES[2]);
+        games[7] = new char[]{'1', 'X', '5'};
+        games[games.length - 1] = new char[]{'1', '2', 'Q'};
+        int[] frameScores = new int[games.length * BowlingScoreCalculator.MAX_FRAMES];
+        int[] frameCounts = new int[games.length];
+
+        BatchScorer.tryCalculateScores(games, frameScores, frameCounts);
+
+        assertEquals(RollError.STRIKE_NOT_ON_FIRST_ROLL, RollError.of(frameCounts[7]));
+        assertEquals(1, RollError.rollIndex(frameCounts[7]));
+        assertEquals(RollError.INVALID_CHARACTER, RollError.of(frameCounts[games.length - 1]));
+        assertEquals(2, RollError.rollIndex(frameCounts[games.length - 1]));
+        for (int game = 0; game < games.length - 1; game++) {
+            if (game != 7) {
+                assertGameScores(games[game], frameScores, frameCounts, game);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateScores_scoresBufferTooSmall_exceptionThrown() {
+        BatchScorer.calculateScores(EXAMPLE_GAMES, new int[BowlingScoreCalculator.MAX_FRAMES], new int[EXAMPLE_GAMES.length]);
+    }
+
+    private static void assertGameScores(char[] game, int[] frameScores, int[] frameCounts, int index) {
+        int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int expectedFrames = BowlingScoreCalculator.calculateScores(game, 0, game.length, expected);
+        assertEquals(expectedFrames, frameCounts[index]);
+        int start = index * BowlingScoreCalculator.MAX_FRAMES;
+        assertArrayEquals(Arrays.copyOf(expected, expectedFrames), Arrays.copyOfRange(frameScores, start, start + expectedFrames));
+    }
+}
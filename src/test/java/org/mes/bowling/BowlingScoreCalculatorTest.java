@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.mes.bowling.exception.InvalidRollCharacterException;
 import org.mes.bowling.exception.InvalidRollSequenceException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -296,4 +297,128 @@ public class BowlingScoreCalculatorTest {
         assertEquals(19, (int) scores.get(8));
         assertEquals(9, (int) scores.get(9));
     }
+
+    @Test
+    public void calculateScores_allSpares_correctResult() {
+        char[] sequence = {'5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5'};
+        List<Integer> scores = BowlingScoreCalculator.calculateScores(sequence);
+        assertEquals(10, scores.size());
+        for (Integer score : scores) {
+            assertEquals(15, (int) score);
+        }
+    }
+
+    @Test
+    public void calculateScores_strikeInTheTenthFrameAwaitingBonus_correctResult() {
+        char[] sequence = {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', '7'};
+        List<Integer> scores = BowlingScoreCalculator.calculateScores(sequence);
+        assertEquals(10, scores.size());
+        assertEquals(30, (int) scores.get(7));
+        assertEquals(27, (int) scores.get(8));
+        assertNull(scores.get(9));
+    }
+
+    @Test
+    public void calculateScoresIntoBuffer_subrangeOfSequence_correctResult() {
+        char[] sequence = {'Q', '4', '5', 'X', '8', 'Q'};
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int numFrames = BowlingScoreCalculator.calculateScores(sequence, 1, 4, frameScores);
+        assertEquals(3, numFrames);
+        assertEquals(9, frameScores[0]);
+        assertEquals(BowlingScoreCalculator.UNDETERMINED, frameScores[1]);
+        assertEquals(BowlingScoreCalculator.UNDETERMINED, frameScores[2]);
+    }
+
+    @Test
+    public void calculateScoresIntoBuffer_emptySequence_noFrames() {
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        assertEquals(0, BowlingScoreCalculator.calculateScores(new char[0], 0, 0, frameScores));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateScoresIntoBuffer_bufferTooSmall_exceptionThrown() {
+        char[] sequence = {'4', '5'};
+        BowlingScoreCalculator.calculateScores(sequence, 0, sequence.length, new int[1]);
+    }
+
+    @Test
+    public void calculateScoresFromBytes_asciiSequence_sameResultAsChars() {
+        char[] sequence = {'F', '-', 'X', '9', '/', '8', '1'};
+        byte[] asciiSequence = new String(sequence).getBytes(StandardCharsets.US_ASCII);
+        int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        assertEquals(BowlingScoreCalculator.calculateScores(sequence, 0, sequence.length, expected),
+                BowlingScoreCalculator.calculateScores(asciiSequence, 0, asciiSequence.length, frameScores));
+        assertArrayEquals(expected, frameScores);
+    }
+
+    @Test(expected = InvalidRollCharacterException.class)
+    public void calculateScoresFromBytes_nonAsciiByte_exceptionThrown() {
+        byte[] sequence = {'4', (byte) 0xD8, '5'};
+        BowlingScoreCalculator.calculateScores(sequence, 0, sequence.length, new int[BowlingScoreCalculator.MAX_FRAMES]);
+    }
+
+    @Test(expected = InvalidRollCharacterException.class)
+    public void ingestRollChars_characterOutsideLatin1_exceptionThrown() {
+        char[] sequence = {'4', '\u0158', '5'};
+        BowlingScoreCalculator.ingestRollChars(sequence);
+    }
+
+    @Test
+    public void tryCalculateScores_invalidCharacter_errorResultWithRollIndex() {
+        char[] sequence = {'9', '4', '3', 'Q', '5'};
+        int result = BowlingScoreCalculator.tryCalculateScores(sequence, 1, 4, new int[BowlingScoreCalculator.MAX_FRAMES]);
+        assertTrue(RollError.isError(result));
+        assertEquals(RollError.INVALID_CHARACTER, RollError.of(result));
+        assertEquals(2, RollError.rollIndex(result));
+    }
+
+    @Test
+    public void tryCalculateScores_invalidSequences_errorResultWithReason() {
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        char[] strikeOnSecondRoll = {'X', '1', 'X', '5'};
+        int result = BowlingScoreCalculator.tryCalculateScores(strikeOnSecondRoll, 0, strikeOnSecondRoll.length, frameScores);
+        assertEquals(RollError.STRIKE_NOT_ON_FIRST_ROLL, RollError.of(result));
+        assertEquals(2, RollError.rollIndex(result));
+
+        byte[] spareOnFirstRoll = {'/', '3'};
+        result = BowlingScoreCalculator.tryCalculateScores(spareOnFirstRoll, 0, spareOnFirstRoll.length, frameScores);
+        assertEquals(RollError.SPARE_NOT_ON_SECOND_ROLL, RollError.of(result));
+        assertEquals(0, RollError.rollIndex(result));
+    }
+
+    @Test
+    public void tryCalculateScores_validSequence_numberOfFrames() {
+        char[] sequence = {'4', '5', 'X', '8', '1'};
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        assertEquals(3, BowlingScoreCalculator.tryCalculateScores(sequence, 0, sequence.length, frameScores));
+        assertEquals(19, frameScores[1]);
+    }
+
+    @Test
+    public void calculateScores_invalidCharacter_sameMessageAsIngest() {
+        char[] sequence = {'4', '3', 'Q', '5'};
+        try {
+            BowlingScoreCalculator.calculateScores(sequence);
+            fail("an invalid roll character should be rejected");
+        } catch (InvalidRollCharacterException e) {
+            assertEquals("'Q' is not a valid character for bowling scores.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void validateRolls_validAndInvalidSequences_sameAsTryCalculateScores() {
+        char[] valid = {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', '1', '/'};
+        assertEquals(0, BowlingScoreCalculator.validateRolls(valid, 0, valid.length));
+
+        char[] spareAfterStrike = {'4', '5', 'X', '/', '5'};
+        int result = BowlingScoreCalculator.validateRolls(spareAfterStrike, 0, spareAfterStrike.length);
+        assertEquals(RollError.SPARE_NOT_ON_SECOND_ROLL, RollError.of(result));
+        assertEquals(3, RollError.rollIndex(result));
+
+        byte[] invalidCharacter = "12Q".getBytes(StandardCharsets.US_ASCII);
+        result = BowlingScoreCalculator.validateRolls(invalidCharacter, 0, invalidCharacter.length);
+        assertEquals(RollError.INVALID_CHARACTER, RollError.of(result));
+        assertEquals(2, RollError.rollIndex(result));
+    }
 }
@@ -0,0 +1,122 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollCharacterException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ColumnarBatchScorerTest {
+    private static final char[] ROLL_CHARS = "0123456789X/F-".toCharArray();
+
+    @Test
+    public void tryCalculateScores_scalarKernel_matchesBatchScorer() {
+        assertMatchesBatchScorer(randomGames(GameColumns.LANES * 3 + 17, new Random(1)), ScalarLaneKernel.INSTANCE);
+    }
+
+    @Test
+    public void tryCalculateScores_defaultKernel_matchesBatchScorer() {
+        // the Vector API kernel when built with -P vector, the scalar one otherwise
+        char[][] games = randomGames(GameColumns.LANES * 3 + 17, new Random(2));
+        int[] frameScores = new int[games.length * BowlingScoreCalculator.MAX_FRAMES];
+        int[] frameCounts = new int[games.length];
+
+        ColumnarBatchScorer.tryCalculateScores(games, frameScores, frameCounts);
+
+        assertSameScores(games, frameScores, frameCounts);
+    }
+
+    @Test
+    public void load_completeAndIncompleteGames_onlyCompleteGamesLoaded() {
+        GameColumns columns = new GameColumns();
+        assertTrue(load(columns, "XXXXXXXXXXXX"));
+        assertTrue(load(columns, "XXXXXXXXX9/X"));
+        assertTrue(load(columns, "9-9-9-9-9-9-9-9-9-9-"));
+        assertFalse(load(columns, "XXXXXXXXXXX"));
+        assertFalse(load(columns, "XXXXXXXXX9/"));
+        assertFalse(load(columns, "45X81"));
+        assertFalse(load(columns, "1X5"));
+    }
+
+    @Test(expected = InvalidRollCharacterException.class)
+    public void calculateScores_invalidGame_exceptionThrown() {
+        char[][] games = {"XXXXXXXXXXXX".toCharArray(), "12Q".toCharArray()};
+        ColumnarBatchScorer.calculateScores(games, new int[2 * BowlingScoreCalculator.MAX_FRAMES], new int[2]);
+    }
+
+    private static boolean load(GameColumns columns, String game) {
+        return columns.load(0, game.toCharArray(), 0, game.length());
+    }
+
+    private static void assertMatchesBatchScorer(char[][] games, LaneKernel kernel) {
+        int[] frameScores = new int[games.length * BowlingScoreCalculator.MAX_FRAMES];
+        int[] frameCounts = new int[games.length];
+        ColumnarBatchScorer.tryCalculateScores(games, frameScores, frameCounts, kernel);
+        assertSameScores(games, frameScores, frameCounts);
+    }
+
+    private static void assertSameScores(char[][] games, int[] frameScores, int[] frameCounts) {
+        int[] expectedScores = new int[frameScores.length];
+        int[] expectedCounts = new int[frameCounts.length];
+        BatchScorer.tryCalculateScores(games, expectedScores, expectedCounts);
+
+        for (int game = 0; game < games.length; game++) {
+            String gameString = new String(games[game]);
+            assertEquals(gameString, expectedCounts[game], frameCounts[game]);
+            if (frameCounts[game] > 0) {
+                int start = game * BowlingScoreCalculator.MAX_FRAMES;
+                assertArrayEquals(gameString, Arrays.copyOfRange(expectedScores, start, start + frameCounts[game]),
+                        Arrays.copyOfRange(frameScores, start, start + frameCounts[game]));
+            }
+        }
+    }
+
+    // mostly complete games, with some partial, invalid and overlong ones mixed in
+    private static char[][] randomGames(int numGames, Random random) {
+        char[][] games = new char[numGames][];
+        for (int game = 0; game < numGames; game++) {
+            char[] complete = completeGame(random);
+            switch (random.nextInt(6)) {
+                case 0:
+                    games[game] = Arrays.copyOf(complete, random.nextInt(complete.length));
+                    break;
+                case 1:
+                    char[] noise = new char[random.nextInt(24)];
+                    for (int i = 0; i < noise.length; i++) {
+                        noise[i] = ROLL_CHARS[random.nextInt(ROLL_CHARS.length)];
+                    }
+                    games[game] = noise;
+                    break;
+                case 2:
+                    // the 10th frame accepts any number of rolls
+                    games[game] = (new String(complete) + "1234").toCharArray();
+                    break;
+                default:
+                    games[game] = complete;
+            }
+        }
+        return games;
+    }
+
+    private static char[] completeGame(Random random) {
+        StringBuilder game = new StringBuilder();
+        for (int frame = 1; frame <= BowlingScoreCalculator.MAX_FRAMES; frame++) {
+            int first = random.nextInt(11);
+            if (first == 10) {
+                game.append('X');
+                if (frame == BowlingScoreCalculator.MAX_FRAMES) {
+                    game.append(ROLL_CHARS[random.nextInt(11)]).append(ROLL_CHARS[random.nextInt(10)]);
+                }
+                continue;
+            }
+            int second = random.nextInt(11 - first);
+            game.append((char) ('0' + first)).append(first + second == 10 ? '/' : (char) ('0' + second));
+            if (frame == BowlingScoreCalculator.MAX_FRAMES && first + second == 10) {
+                game.append(ROLL_CHARS[random.nextInt(11)]);
+            }
+        }
+        return game.toString().toCharArray();
+    }
+}
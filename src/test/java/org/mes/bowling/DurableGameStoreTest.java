@@ -0,0 +1,321 @@
+package org.mes.bowling;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class DurableGameStoreTest {
+    private static final String GAME = "F-091/X34-/XX728/9";
+    // a batch header and one record
+    private static final int BATCH_SIZE = 8 + 9;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void open_afterClose_gamesRecovered() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, GAME);
+            addRolls(store, 2, "45X8");
+            addRolls(store, 3, "XX");
+            assertTrue(store.remove(3));
+        }
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, GAME);
+            assertScores(store, 2, "45X8");
+            assertFalse(store.getRegistry().contains(3));
+
+            // recovered games keep going where they left off
+            store.addRoll(2, '1');
+            assertScores(store, 2, "45X81");
+        }
+    }
+
+    @Test
+    public void snapshot_thenMoreRolls_olderSegmentsDeletedAndTailReplayed() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, "XXXXXX");
+            store.snapshot();
+            addRolls(store, 1, "XXXXXX");
+            addRolls(store, 2, "9-");
+        }
+
+        List<String> files = fileNames(directory);
+        assertEquals(1, files.stream().filter(name -> name.startsWith("snapshot-")).count());
+        assertEquals(List.of("snapshot-0000000000000001.dat", "wal-0000000000000001.log"), files);
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, "XXXXXXXXXXXX");
+            assertScores(store, 2, "9-");
+            assertEquals(12, store.getRegistry().getNumRolls(1));
+        }
+    }
+
+    @Test
+    public void snapshotInterval_reached_snapshotTakenAutomatically() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory, 10, null)) {
+            for (long game = 0; game < 20; game++) {
+                addRolls(store, game, "5/");
+            }
+        }
+        assertTrue(fileNames(directory).stream().anyMatch(name -> name.startsWith("snapshot-")));
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertEquals(20, store.getRegistry().size());
+            assertScores(store, 19, "5/");
+        }
+    }
+
+    @Test
+    public void open_tornLastBatch_recoversEverythingBeforeIt() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, "45");
+        }
+        Path segment = directory.resolve(fileNames(directory).get(0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            // a batch header promising two records, but only half of one made it to disk
+            channel.write(ByteBuffer.allocate(12).putInt(2).putInt(0).putInt(42).flip());
+        }
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, "45");
+        }
+    }
+
+    @Test
+    public void open_tornLastBatchThenMoreRolls_laterSegmentKept() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, "45");
+        }
+        Path segment = directory.resolve(fileNames(directory).get(0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(2).putInt(0).putInt(42).flip());
+        }
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 2, "X");
+        }
+
+        // the torn tail was cut off, so it is no gap in front of the next segment
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, "45");
+            assertScores(store, 2, "X");
+        }
+    }
+
+    @Test
+    public void open_corruptMiddleBatch_laterBatchesNotApplied() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            // one batch per roll, since each waits until it is durable
+            addRolls(store, 1, "45");
+            addRolls(store, 2, "X");
+        }
+        Path segment = directory.resolve(fileNames(directory).get(0));
+        corrupt(segment, BATCH_SIZE + 8);
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, "4");
+            assertFalse(store.getRegistry().contains(2));
+            store.addRoll(1, '3');
+        }
+        assertEquals(BATCH_SIZE, Files.size(segment));
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, "43");
+            assertFalse(store.getRegistry().contains(2));
+        }
+    }
+
+    @Test
+    public void open_corruptEarlierSegment_laterSegmentsDiscarded() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, "4");
+        }
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 2, "X");
+        }
+        corrupt(directory.resolve("wal-0000000000000000.log"), 8);
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertEquals(0, store.getRegistry().size());
+        }
+        assertTrue(fileNames(directory).contains("wal-0000000000000001.log.discarded"));
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertEquals(0, store.getRegistry().size());
+        }
+    }
+
+    @Test
+    public void open_snapshotsAcrossSeveralSegments_everythingRecovered() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, "XXX");
+            store.snapshot();
+            addRolls(store, 2, "9-");
+        }
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 1, "XXX");
+            assertTrue(store.remove(2));
+        }
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 3, "5/");
+            store.snapshot();
+            addRolls(store, 1, "XX");
+        }
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            addRolls(store, 3, "7");
+        }
+
+        // the second snapshot replaced the first one and the three segments it covered
+        assertEquals(List.of("snapshot-0000000000000004.dat", "wal-0000000000000004.log", "wal-0000000000000005.log"),
+                fileNames(directory));
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertScores(store, 1, "XXXXXXXX");
+            assertFalse(store.getRegistry().contains(2));
+            assertScores(store, 3, "5/7");
+        }
+    }
+
+    @Test
+    public void snapshot_racingAutomaticSnapshots_coversRollsBeforeTheCall() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        AtomicBoolean done = new AtomicBoolean();
+        try (DurableGameStore store = DurableGameStore.open(directory, 5, null)) {
+            Thread background = new Thread(() -> {
+                try {
+                    for (long game = 100; !done.get(); game++) {
+                        addRolls(store, game, "5/");
+                    }
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            background.start();
+            try {
+                for (int i = 1; i <= 20; i++) {
+                    store.addRoll(i, '7');
+                    store.snapshot();
+
+                    // the newest snapshot alone must hold every roll made before the call
+                    Path copy = folder.newFolder().toPath();
+                    copyNewestSnapshot(directory, copy);
+                    try (DurableGameStore recovered = DurableGameStore.open(copy)) {
+                        for (long game = 1; game <= i; game++) {
+                            assertScores(recovered, game, "7");
+                        }
+                    }
+                }
+            } finally {
+                done.set(true);
+                background.join();
+            }
+        }
+    }
+
+    @Test
+    public void addRoll_manyThreads_allRollsDurable() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        int numThreads = 8;
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                long gameId = t;
+                threads.add(new Thread(() -> {
+                    try {
+                        addRolls(store, gameId, GAME);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            for (long gameId = 0; gameId < numThreads; gameId++) {
+                assertScores(store, gameId, GAME);
+            }
+        }
+    }
+
+    @Test
+    public void tryAddRoll_invalidRoll_notLogged() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            store.addRoll(1, '4');
+            assertEquals(RollError.STRIKE_NOT_ON_FIRST_ROLL, RollError.of(store.tryAddRoll(1, 'X')));
+        }
+        try (DurableGameStore store = DurableGameStore.open(directory)) {
+            assertEquals(1, store.getRegistry().getNumRolls(1));
+        }
+    }
+
+    private static void copyNewestSnapshot(Path directory, Path target) throws IOException {
+        while (true) {
+            String snapshot = fileNames(directory).stream().filter(name -> name.startsWith("snapshot-") && name.endsWith(".dat"))
+                    .reduce((first, second) -> second).orElseThrow();
+            try {
+                Files.copy(directory.resolve(snapshot), target.resolve(snapshot));
+                return;
+            } catch (NoSuchFileException e) {
+                // replaced by a newer snapshot in the meantime, which covers at least as much
+            }
+        }
+    }
+
+    // flips a byte so the batch containing it fails its checksum
+    private static void corrupt(Path segment, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) ~buffer.get(0));
+            channel.write(buffer.rewind(), position);
+        }
+    }
+
+    private static void addRolls(DurableGameStore store, long gameId, String rolls) throws IOException {
+        for (char roll : rolls.toCharArray()) {
+            store.addRoll(gameId, roll);
+        }
+    }
+
+    private static void assertScores(DurableGameStore store, long gameId, String rolls) {
+        int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int expectedFrames = BowlingScoreCalculator.calculateScores(rolls.toCharArray(), 0, rolls.length(), expected);
+        int[] actual = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int actualFrames = store.getRegistry().getScores(gameId, actual);
+        assertArrayEquals(Arrays.copyOf(expected, expectedFrames), Arrays.copyOf(actual, actualFrames));
+    }
+
+    private static List<String> fileNames(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
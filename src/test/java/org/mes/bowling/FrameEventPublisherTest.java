@@ -0,0 +1,148 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FrameEventPublisherTest {
+
+    @Test
+    public void addRoll_registryWithPublisher_oneEventPerResolvedFrame() {
+        FrameEventPublisher publisher = new FrameEventPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        LiveGameRegistry registry = new LiveGameRegistry(publisher);
+
+        for (char roll : "45X81".toCharArray()) {
+            registry.addRoll(3, roll);
+        }
+
+        List<FrameEvent> expected = List.of(
+                new FrameEvent(3, 1, 9, 9),
+                new FrameEvent(3, 2, 19, 28),
+                new FrameEvent(3, 3, 9, 37));
+        assertEquals(expected, subscriber.events());
+    }
+
+    @Test
+    public void request_subscriberFallsBehind_eventsDeliveredAsOneBatch() {
+        FrameEventPublisher publisher = new FrameEventPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        LiveGameRegistry registry = new LiveGameRegistry(publisher);
+
+        for (char roll : "XXXXXXXXXXXX".toCharArray()) {
+            registry.addRoll(1, roll);
+        }
+        assertTrue(subscriber.batches.isEmpty());
+
+        subscriber.subscription.request(1);
+
+        assertEquals(1, subscriber.batches.size());
+        assertEquals(10, subscriber.batches.get(0).size());
+        assertEquals(300, subscriber.batches.get(0).get(9).getRunningTotal());
+    }
+
+    @Test
+    public void close_pendingEvents_deliveredBeforeComplete() throws Exception {
+        FrameEventPublisher publisher = new FrameEventPublisher();
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(subscriber);
+        LiveGameRegistry registry = new LiveGameRegistry(publisher);
+        for (char roll : "9-9-9-".toCharArray()) {
+            registry.addRoll(8, roll);
+        }
+
+        publisher.close();
+        subscriber.subscription.request(10);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(3, subscriber.events().size());
+        assertEquals(0, publisher.getNumberOfSubscribers());
+    }
+
+    @Test
+    public void request_nonPositive_onError() {
+        FrameEventPublisher publisher = new FrameEventPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(0, publisher.getNumberOfSubscribers());
+    }
+
+    @Test
+    public void publish_subscriberFallsTooFarBehind_onErrorAndCancelled() {
+        FrameEventPublisher publisher = new FrameEventPublisher(Runnable::run, 5);
+        RecordingSubscriber slow = new RecordingSubscriber(0);
+        RecordingSubscriber fast = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(slow);
+        publisher.subscribe(fast);
+        LiveGameRegistry registry = new LiveGameRegistry(publisher);
+
+        for (char roll : "XXXXXXXXXXXX".toCharArray()) {
+            registry.addRoll(1, roll);
+        }
+
+        assertTrue(slow.error instanceof IllegalStateException);
+        assertTrue(slow.batches.isEmpty());
+        assertEquals(1, publisher.getNumberOfSubscribers());
+        // a subscriber that keeps up never has more than one event buffered
+        assertEquals(10, fast.events().size());
+        assertNull(fast.error);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nonPositiveBuffer_exceptionThrown() {
+        new FrameEventPublisher(Runnable::run, 0);
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<List<FrameEvent>> {
+        private final long initialRequest;
+        final List<List<FrameEvent>> batches = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(List<FrameEvent> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        synchronized List<FrameEvent> events() {
+            List<FrameEvent> events = new ArrayList<>();
+            batches.forEach(events::addAll);
+            return events;
+        }
+    }
+}
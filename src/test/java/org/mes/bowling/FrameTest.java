@@ -0,0 +1,72 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mes.bowling.BowlingScoreCalculator.UNDETERMINED;
+
+public class FrameTest {
+
+    @Test
+    public void ingestFrames_completeGame_rollRangesAndScoresMatchCalculateScores() {
+        char[] game = "X7/9-X-88/-6XXX81".toCharArray();
+        List<Frame> frames = BowlingScoreCalculator.ingestFrames(game);
+        List<Roll> rolls = BowlingScoreCalculator.ingestRollChars(game);
+        List<Integer> scores = BowlingScoreCalculator.calculateScores(game);
+
+        assertEquals(10, frames.size());
+        int nextRoll = 0;
+        for (int i = 0; i < frames.size(); i++) {
+            Frame frame = frames.get(i);
+            assertEquals(i + 1, frame.getFrame());
+            assertEquals(scores.get(i).intValue(), frame.getScore());
+            assertEquals(rolls.subList(nextRoll, nextRoll + frame.getNumRolls()), frame.getRolls());
+            nextRoll += frame.getNumRolls();
+        }
+        assertEquals(rolls.size(), nextRoll);
+    }
+
+    @Test
+    public void ingestFrames_tenthFrameStrike_extraRollsInTenthFrame() {
+        Frame tenth = BowlingScoreCalculator.ingestFrames("XXXXXXXXXX81".toCharArray()).get(9);
+        assertEquals(3, tenth.getNumRolls());
+        assertEquals(19, tenth.getScore());
+        assertTrue(tenth.isStrike());
+        assertFalse(tenth.getRoll(0).isExtraRoll());
+        assertTrue(tenth.getRoll(1).isExtraRoll());
+        assertTrue(tenth.getRoll(2).isExtraRoll());
+    }
+
+    @Test
+    public void ingestFrames_tenthFrameSpare_bonusRollIncluded() {
+        Frame tenth = BowlingScoreCalculator.ingestFrames("9-9-9-9-9-9-9-9-9-5/3".toCharArray()).get(9);
+        assertEquals(3, tenth.getNumRolls());
+        assertTrue(tenth.isSpare());
+        assertFalse(tenth.isStrike());
+        assertEquals(13, tenth.getScore());
+        assertTrue(tenth.getRoll(2).isExtraRoll());
+    }
+
+    @Test
+    public void ingestFrames_incompleteGame_undeterminedScores() {
+        List<Frame> frames = BowlingScoreCalculator.ingestFrames("45X8".toCharArray());
+        assertEquals(3, frames.size());
+        assertEquals(9, frames.get(0).getScore());
+        assertEquals(UNDETERMINED, frames.get(1).getScore());
+        assertEquals(UNDETERMINED, frames.get(2).getScore());
+        assertEquals(1, frames.get(2).getNumRolls());
+        assertEquals("Frame{frame=3, rolls=8, score=?}", frames.get(2).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getRoll_pastTheFrame_exceptionThrown() {
+        BowlingScoreCalculator.ingestFrames("X45".toCharArray()).get(0).getRoll(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getRolls_modified_exceptionThrown() {
+        BowlingScoreCalculator.ingestFrames("45".toCharArray()).get(0).getRolls().remove(0);
+    }
+}
@@ -0,0 +1,66 @@
+package org.mes.bowling;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GameArchiveTest {
+    private static final char[][] EXAMPLE_GAMES = {
+            {'4', '5', 'X', '8'},
+            {'4', '5', 'X', '8', '1'},
+            {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X'},
+            {},
+            {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', '9', '/', 'X'},
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readArchive_gamesSpanningSeveralBlocks_scoredFromMappedBlocks() throws IOException {
+        Path archive = folder.newFile("games.bowl").toPath();
+        int numGames = 23;
+        try (GameArchiveWriter writer = new GameArchiveWriter(archive, 10)) {
+            for (int game = 0; game < numGames; game++) {
+                writer.append(EXAMPLE_GAMES[game % EXAMPLE_GAMES.length]);
+            }
+            assertEquals(numGames, writer.getNumGames());
+        }
+
+        try (GameArchiveReader reader = new GameArchiveReader(archive)) {
+            assertEquals(3, reader.getNumBlocks());
+            assertEquals(numGames, reader.getNumGames());
+
+            int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+            int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+            char[] rollChars = new char[GameCodec.MAX_ROLLS];
+            for (int blockIndex = 0; blockIndex < reader.getNumBlocks(); blockIndex++) {
+                GameBlock block = reader.mapBlock(blockIndex);
+                for (int game = 0; game < block.getNumGames(); game++) {
+                    char[] original = EXAMPLE_GAMES[(int) ((reader.getFirstGame(blockIndex) + game) % EXAMPLE_GAMES.length)];
+                    assertEquals(original.length, block.getNumRolls(game));
+                    assertEquals(original.length, block.decode(game, rollChars, 0));
+                    assertArrayEquals(original, Arrays.copyOf(rollChars, original.length));
+
+                    int numFrames = block.calculateScores(game, frameScores, 0);
+                    assertEquals(BowlingScoreCalculator.calculateScores(original, 0, original.length, expected), numFrames);
+                    assertArrayEquals(Arrays.copyOf(expected, numFrames), Arrays.copyOf(frameScores, numFrames));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openArchive_notAnArchive_exceptionThrown() throws IOException {
+        Path notAnArchive = folder.newFile("rolls.txt").toPath();
+        Files.writeString(notAnArchive, "45X81\nXXXXXXXXXXXX\n");
+        new GameArchiveReader(notAnArchive).close();
+    }
+}
@@ -0,0 +1,71 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollSequenceException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GameCodecTest {
+
+    @Test
+    public void encode_longestGame_fitsInElevenBytes() {
+        char[] sequence = {'5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5'};
+        byte[] encoded = new byte[GameCodec.ENCODED_SIZE];
+        GameCodec.encode(sequence, 0, sequence.length, encoded, 0);
+
+        assertEquals(11, GameCodec.ENCODED_SIZE);
+        assertEquals(sequence.length, GameCodec.numRolls(ByteBuffer.wrap(encoded), 0));
+        char[] decoded = new char[GameCodec.MAX_ROLLS];
+        assertEquals(sequence.length, GameCodec.decode(ByteBuffer.wrap(encoded), 0, decoded, 0));
+        assertArrayEquals(sequence, decoded);
+    }
+
+    @Test
+    public void decode_foulsAndMisses_decodedAsZero() {
+        char[] sequence = {'F', '-', 'X', '-', '/'};
+        byte[] encoded = new byte[GameCodec.ENCODED_SIZE];
+        GameCodec.encode(sequence, 0, sequence.length, encoded, 0);
+
+        char[] decoded = new char[GameCodec.MAX_ROLLS];
+        int numRolls = GameCodec.decode(ByteBuffer.wrap(encoded), 0, decoded, 0);
+        assertArrayEquals(new char[]{'0', '0', 'X', '0', '/'}, Arrays.copyOf(decoded, numRolls));
+    }
+
+    @Test
+    public void calculateScores_packedGames_matchesCalculateScores() {
+        char[][] games = {
+                {},
+                {'4', '5', 'X', '8'},
+                {'4', '5', 'X', '8', '1'},
+                {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X'},
+                {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', '9', '/', 'X'},
+        };
+        byte[] encoded = new byte[games.length * GameCodec.ENCODED_SIZE];
+        for (int game = 0; game < games.length; game++) {
+            GameCodec.encode(games[game], 0, games[game].length, encoded, game * GameCodec.ENCODED_SIZE);
+        }
+
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+        for (int game = 0; game < games.length; game++) {
+            int numFrames = GameCodec.calculateScores(ByteBuffer.wrap(encoded), game * GameCodec.ENCODED_SIZE, frameScores, 0);
+            assertEquals(BowlingScoreCalculator.calculateScores(games[game], 0, games[game].length, expected), numFrames);
+            assertArrayEquals(Arrays.copyOf(expected, numFrames), Arrays.copyOf(frameScores, numFrames));
+        }
+    }
+
+    @Test(expected = InvalidRollSequenceException.class)
+    public void encode_invalidSequence_exceptionThrown() {
+        GameCodec.encode(new char[]{'1', 'X'}, 0, 2, new byte[GameCodec.ENCODED_SIZE], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_tooManyRolls_exceptionThrown() {
+        char[] sequence = new char[GameCodec.MAX_ROLLS + 1];
+        Arrays.fill(sequence, 'X');
+        GameCodec.encode(sequence, 0, sequence.length, new byte[GameCodec.ENCODED_SIZE], 0);
+    }
+}
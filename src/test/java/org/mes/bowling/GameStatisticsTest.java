@@ -0,0 +1,110 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameStatisticsTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void add_exampleGames_countsStrikesSparesAndOpenFrames() {
+        GameStatistics statistics = new GameStatistics();
+        add(statistics, "XXXXXXXXXXXX");
+        add(statistics, "5/5/5/5/5/5/5/5/5/5/5");
+        add(statistics, "9-9-9-9-9-9-9-9-9-9-");
+
+        assertEquals(3, statistics.getGames());
+        assertEquals(3, statistics.getCompleteGames());
+        assertEquals(30, statistics.getStrikeOpportunities());
+        assertEquals(10, statistics.getStrikes());
+        assertEquals(20, statistics.getSpareOpportunities());
+        assertEquals(10, statistics.getSpares());
+        assertEquals(10, statistics.getOpenFrames());
+        assertEquals(1, statistics.getTotalCount(300));
+        assertEquals(1, statistics.getTotalCount(150));
+        assertEquals(1, statistics.getTotalCount(90));
+        assertEquals(10, statistics.getFrameScoreCount(30));
+        assertEquals(180, statistics.getAverageTotal(), DELTA);
+        assertEquals(1.0 / 3, statistics.getStrikeRate(), DELTA);
+        assertEquals(0.5, statistics.getSpareConversionRate(), DELTA);
+    }
+
+    @Test
+    public void add_partialGame_onlyDeterminedFramesCounted() {
+        GameStatistics statistics = new GameStatistics();
+        add(statistics, "45X8");
+
+        assertEquals(0, statistics.getCompleteGames());
+        // the strike in frame 2 is still waiting for its second bonus roll
+        assertEquals(1, statistics.getFrameScoreCount(9));
+        assertEquals(0, statistics.getFrameScoreCount(18));
+        assertEquals(3, statistics.getStrikeOpportunities());
+        assertEquals(1, statistics.getSpareOpportunities());
+        assertEquals(1, statistics.getOpenFrames());
+    }
+
+    @Test
+    public void add_invalidGame_countedButNotAggregated() {
+        GameStatistics statistics = new GameStatistics();
+        char[] game = "X1X5".toCharArray();
+        int result = statistics.add(game, 0, game.length);
+
+        assertEquals(RollError.STRIKE_NOT_ON_FIRST_ROLL, RollError.of(result));
+        assertEquals(1, statistics.getInvalidGames());
+        assertEquals(0, statistics.getStrikes());
+        assertEquals(0, statistics.getRolls());
+    }
+
+    @Test
+    public void merge_parallelCollector_sameAsSequential() {
+        Random random = new Random(17);
+        List<char[]> games = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            char[] game = new char[random.nextInt(22)];
+            for (int roll = 0; roll < game.length; roll++) {
+                game[roll] = "0123456789X/-".charAt(random.nextInt(13));
+            }
+            games.add(game);
+        }
+
+        GameStatistics sequential = new GameStatistics();
+        for (char[] game : games) {
+            sequential.add(game, 0, game.length);
+        }
+        GameStatistics parallel = games.parallelStream().collect(GameStatistics.collector());
+
+        assertEquals(sequential.toString(), parallel.toString());
+        assertEquals(sequential.getRolls(), parallel.getRolls());
+        for (int total = 0; total <= Leaderboard.MAX_TOTAL; total++) {
+            assertEquals(sequential.getTotalCount(total), parallel.getTotalCount(total));
+        }
+    }
+
+    @Test
+    public void groupedStatistics_twoBowlers_separateAndMergedCounts() {
+        GroupedGameStatistics<String> first = new GroupedGameStatistics<>();
+        GroupedGameStatistics<String> second = new GroupedGameStatistics<>();
+        char[] perfect = "XXXXXXXXXXXX".toCharArray();
+        char[] gutter = "00000000000000000000".toCharArray();
+        first.add("ann", perfect, 0, perfect.length);
+        first.add("bob", gutter, 0, gutter.length);
+        second.add("ann", gutter, 0, gutter.length);
+
+        first.merge(second);
+
+        assertEquals(2, first.get("ann").getGames());
+        assertEquals(150, first.get("ann").getAverageTotal(), DELTA);
+        assertEquals(0, first.get("bob").getStrikes());
+        assertEquals(3, first.getOverall().getGames());
+        assertNull(first.get("carol"));
+    }
+
+    private static void add(GameStatistics statistics, String game) {
+        assertEquals(0, statistics.add(game.toCharArray(), 0, game.length()));
+    }
+}
@@ -0,0 +1,87 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollSequenceException;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class IncrementalScorerTest {
+
+    @Test
+    public void addRoll_eachPrefixOfExampleGames_matchesCalculateScores() {
+        char[][] games = {
+                {'4', '5', 'X', '8', '1'},
+                {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X'},
+                {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', '9', '/', 'X'},
+                {'5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5'},
+                {'F', '-', '0', '9', '1', '/', 'X', '3', '4', '-', '/', 'X', 'X', '7', '2', '8', '/', '9'},
+        };
+
+        for (char[] game : games) {
+            IncrementalScorer scorer = new IncrementalScorer();
+            for (int length = 1; length <= game.length; length++) {
+                scorer.addRoll(game[length - 1]);
+                char[] prefix = Arrays.copyOf(game, length);
+                assertEquals(new String(prefix), BowlingScoreCalculator.calculateScores(prefix), scorer.getScores());
+                assertEquals(length, scorer.getNumRolls());
+            }
+        }
+    }
+
+    @Test
+    public void addRoll_invalidRoll_exceptionThrownAndGameUnchanged() {
+        IncrementalScorer scorer = new IncrementalScorer();
+        scorer.addRoll('X');
+        scorer.addRoll('3');
+        try {
+            scorer.addRoll('X');
+            fail("a strike on the second roll of a frame should be rejected");
+        } catch (InvalidRollSequenceException expected) {
+            // expected
+        }
+
+        assertEquals(2, scorer.getNumRolls());
+        scorer.addRoll('5');
+        assertEquals(BowlingScoreCalculator.calculateScores(new char[]{'X', '3', '5'}), scorer.getScores());
+    }
+
+    @Test
+    public void tryAddRoll_invalidRoll_errorResultAndGameUnchanged() {
+        IncrementalScorer scorer = new IncrementalScorer();
+        assertEquals(0, scorer.tryAddRoll('4'));
+        int result = scorer.tryAddRoll('X');
+        assertEquals(RollError.STRIKE_NOT_ON_FIRST_ROLL, RollError.of(result));
+        assertEquals(1, RollError.rollIndex(result));
+        assertEquals(1, scorer.getNumRolls());
+        assertEquals(0, scorer.tryAddRoll('/'));
+    }
+
+    @Test
+    public void getFrameScore_undeterminedFrame_returnsSentinel() {
+        IncrementalScorer scorer = new IncrementalScorer();
+        scorer.addRoll('4');
+        scorer.addRoll('5');
+        scorer.addRoll('X');
+        assertEquals(2, scorer.getNumFrames());
+        assertEquals(9, scorer.getFrameScore(1));
+        assertEquals(BowlingScoreCalculator.UNDETERMINED, scorer.getFrameScore(2));
+    }
+
+    @Test
+    public void reset_afterGame_startsNewGame() {
+        IncrementalScorer scorer = new IncrementalScorer();
+        scorer.addRoll('X');
+        scorer.addRoll('X');
+        scorer.reset();
+        assertEquals(0, scorer.getNumFrames());
+        assertEquals(0, scorer.getNumRolls());
+
+        scorer.addRoll('3');
+        scorer.addRoll('4');
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        assertEquals(1, scorer.copyScores(frameScores));
+        assertEquals(7, frameScores[0]);
+    }
+}
@@ -0,0 +1,83 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void getValueAtPercentile_uniformValues_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertWithinSixteenth(50_000, histogram.getValueAtPercentile(50));
+        assertWithinSixteenth(99_000, histogram.getValueAtPercentile(99));
+        assertWithinSixteenth(100_000, histogram.getMaxValue());
+    }
+
+    @Test
+    public void getValueAtPercentile_smallValues_exact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(7, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void bucketIndex_everyBucket_containsItsHighestValue() {
+        for (int index = 0; index <= LatencyHistogram.bucketIndex(Long.MAX_VALUE); index++) {
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.highestValueInBucket(index)));
+        }
+    }
+
+    @Test
+    public void add_twoHistograms_countsCombined() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(1_000_000);
+        first.add(second);
+        assertEquals(2, first.getCount());
+        assertWithinSixteenth(1_000_000, first.getMaxValue());
+
+        first.reset();
+        assertEquals(0, first.getCount());
+        assertEquals(0, first.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void record_manyThreads_everyValueCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int numThreads = 8;
+        int valuesPerThread = 100_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            // every thread hits the same few buckets
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < valuesPerThread; i++) {
+                    histogram.record(100 + (i & 7));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(numThreads * valuesPerThread, histogram.getCount());
+        assertEquals(107, histogram.getMaxValue());
+    }
+
+    private static void assertWithinSixteenth(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 16);
+    }
+}
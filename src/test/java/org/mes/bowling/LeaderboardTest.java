@@ -0,0 +1,157 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LeaderboardTest {
+
+    @Test
+    public void getTop_gamesUpdatedAsTheyProgress_bestFirst() {
+        Leaderboard leaderboard = new Leaderboard();
+        IncrementalScorer game = new IncrementalScorer();
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        for (char roll : "XXXXXXXXXXXX".toCharArray()) {
+            game.addRoll(roll);
+            leaderboard.update(1, frameScores, game.copyScores(frameScores));
+        }
+        leaderboard.update(2, 150);
+        leaderboard.update(3, 90);
+
+        List<Leaderboard.Entry> top = leaderboard.getTop(2);
+
+        assertEquals(2, top.size());
+        assertEquals(1, top.get(0).getGameId());
+        assertEquals(300, top.get(0).getTotal());
+        assertEquals(2, top.get(1).getGameId());
+        assertEquals(150, top.get(1).getTotal());
+    }
+
+    @Test
+    public void runningTotal_undeterminedFrames_skipped() {
+        int[] frameScores = {9, 19, BowlingScoreCalculator.UNDETERMINED};
+        assertEquals(28, Leaderboard.runningTotal(frameScores, 3));
+    }
+
+    @Test
+    public void update_gameMovesDown_oldTotalForgotten() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(7, 200);
+        leaderboard.update(8, 100);
+        leaderboard.update(7, 50);
+
+        long[] gameIds = new long[5];
+        int[] totals = new int[5];
+        assertEquals(2, leaderboard.copyTop(gameIds, totals));
+        assertEquals(8, gameIds[0]);
+        assertEquals(7, gameIds[1]);
+        assertEquals(50, totals[1]);
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    public void remove_registeredGame_noLongerListed() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(1, 120);
+
+        assertTrue(leaderboard.remove(1));
+        assertFalse(leaderboard.remove(1));
+        assertEquals(-1, leaderboard.getTotal(1));
+        assertTrue(leaderboard.getTop(10).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void update_totalAbovePerfectGame_exceptionThrown() {
+        new Leaderboard().update(1, 301);
+    }
+
+    @Test
+    public void update_concurrentUpdates_eachGameListedOnceAtItsLastTotal() throws Exception {
+        Leaderboard leaderboard = new Leaderboard();
+        int numThreads = 4;
+        int gamesPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int total = 0; total <= Leaderboard.MAX_TOTAL; total += 30) {
+                    for (int i = 0; i < gamesPerThread; i++) {
+                        leaderboard.update(thread * gamesPerThread + i, total);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int numGames = numThreads * gamesPerThread;
+        long[] gameIds = new long[numGames + 1];
+        int[] totals = new int[numGames + 1];
+        assertEquals(numGames, leaderboard.copyTop(gameIds, totals));
+        for (int i = 0; i < numGames; i++) {
+            assertEquals(Leaderboard.MAX_TOTAL, totals[i]);
+        }
+        assertEquals(numGames, Arrays.stream(gameIds, 0, numGames).distinct().count());
+    }
+
+    @Test
+    public void copyTop_gamesMovingDownDuringReads_noGameListedTwice() throws Exception {
+        Leaderboard leaderboard = new Leaderboard();
+        int numGames = 50;
+        for (long gameId = 0; gameId < numGames; gameId++) {
+            leaderboard.update(gameId, Leaderboard.MAX_TOTAL);
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> mover = executor.submit(() -> {
+            // each game walks down through the buckets, ahead of or behind the reads
+            for (int total = Leaderboard.MAX_TOTAL; total >= 0; total--) {
+                for (long gameId = 0; gameId < numGames; gameId++) {
+                    leaderboard.update(gameId, total);
+                }
+            }
+        });
+
+        long[] gameIds = new long[numGames];
+        int[] totals = new int[numGames];
+        while (!mover.isDone()) {
+            int count = leaderboard.copyTop(gameIds, totals);
+            assertEquals(count, Arrays.stream(gameIds, 0, count).distinct().count());
+        }
+        mover.get();
+        executor.shutdown();
+    }
+
+    @Test
+    public void update_crowdedTotalEmptiesOut_bucketRebuiltAtItsNewSize() {
+        Leaderboard leaderboard = new Leaderboard();
+        int numGames = 10 * Leaderboard.SHRINK_MIN_PEAK;
+        for (long gameId = 0; gameId < numGames; gameId++) {
+            leaderboard.update(gameId, 100);
+        }
+        assertEquals(numGames, leaderboard.getBucketPeak(100));
+
+        // all but ten games move on to a better total
+        for (long gameId = 10; gameId < numGames; gameId++) {
+            leaderboard.update(gameId, 200);
+        }
+
+        assertTrue(leaderboard.getBucketPeak(100) <= numGames / 4);
+        long[] gameIds = new long[numGames];
+        int[] totals = new int[numGames];
+        assertEquals(numGames, leaderboard.copyTop(gameIds, totals));
+        assertEquals(10, Arrays.stream(totals).filter(total -> total == 100).count());
+        assertEquals(numGames, Arrays.stream(gameIds).distinct().count());
+    }
+}
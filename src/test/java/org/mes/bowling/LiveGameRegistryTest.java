@@ -0,0 +1,153 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollCharacterException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LiveGameRegistryTest {
+    private static final char[] GAME = {'F', '-', '0', '9', '1', '/', 'X', '3', '4', '-', '/', 'X', 'X', '7', '2', '8', '/', '9'};
+
+    @Test
+    public void addRoll_oneRollAtATime_scoresMatchCalculateScores() {
+        LiveGameRegistry registry = new LiveGameRegistry();
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+        for (int length = 1; length <= GAME.length; length++) {
+            registry.addRoll(7, GAME[length - 1]);
+            int numFrames = registry.getScores(7, frameScores);
+            assertEquals(BowlingScoreCalculator.calculateScores(GAME, 0, length, expected), numFrames);
+            assertArrayEquals(Arrays.copyOf(expected, numFrames), Arrays.copyOf(frameScores, numFrames));
+        }
+        assertEquals(GAME.length, registry.getNumRolls(7));
+    }
+
+    @Test
+    public void addRoll_invalidRoll_exceptionThrownAndGameUnchanged() {
+        LiveGameRegistry registry = new LiveGameRegistry();
+        registry.addRoll(1, '4');
+        try {
+            registry.addRoll(1, 'Q');
+            fail("an invalid roll character should be rejected");
+        } catch (InvalidRollCharacterException expected) {
+            // expected
+        }
+        assertEquals(1, registry.getNumRolls(1));
+        assertEquals(RollError.SPARE_NOT_ON_SECOND_ROLL, RollError.of(registry.tryAddRoll(2, '/')));
+    }
+
+    @Test
+    public void remove_registeredGame_noLongerTracked() {
+        LiveGameRegistry registry = new LiveGameRegistry();
+        registry.addRoll(1, 'X');
+        assertTrue(registry.contains(1));
+        assertTrue(registry.remove(1));
+        assertFalse(registry.contains(1));
+        assertEquals(0, registry.getScores(1, new int[BowlingScoreCalculator.MAX_FRAMES]));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void addRoll_manyThreadsManyGames_everyGameScoredCorrectly() throws InterruptedException {
+        LiveGameRegistry registry = new LiveGameRegistry();
+        int numThreads = 8;
+        int gamesPerThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            int firstGame = t * gamesPerThread;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // interleave rolls across this thread's games, and read while other threads write
+                for (char rollChar : GAME) {
+                    for (int game = firstGame; game < firstGame + gamesPerThread; game++) {
+                        registry.addRoll(game, rollChar);
+                        registry.getScores(game, new int[BowlingScoreCalculator.MAX_FRAMES]);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int[] expected = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int expectedFrames = BowlingScoreCalculator.calculateScores(GAME, 0, GAME.length, expected);
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        assertEquals(numThreads * gamesPerThread, registry.size());
+        for (int game = 0; game < numThreads * gamesPerThread; game++) {
+            assertEquals(expectedFrames, registry.getScores(game, frameScores));
+            assertArrayEquals(expected, frameScores);
+        }
+    }
+
+    @Test
+    public void tryAddRoll_manyThreadsOneGame_everyRollAppliedOnce() throws InterruptedException {
+        LiveGameRegistry registry = new LiveGameRegistry();
+        int numThreads = 8;
+        int rollsPerThread = 1000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // every thread races for the same game's next roll, so compare-and-set keeps failing and retrying
+                for (int i = 0; i < rollsPerThread; i++) {
+                    if (registry.tryAddRoll(1, '1') == 0) { accepted.incrementAndGet(); }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // no roll lost to a retry, and none applied twice
+        assertEquals(numThreads * rollsPerThread, accepted.get());
+        assertEquals(numThreads * rollsPerThread, registry.getNumRolls(1));
+    }
+
+    @Test
+    public void tryAddRoll_afterRemove_startsNewGame() {
+        LiveGameRegistry registry = new LiveGameRegistry();
+        registry.addRoll(1, 'X');
+        assertTrue(registry.remove(1));
+
+        registry.addRoll(1, '7');
+
+        assertEquals(1, registry.getNumRolls(1));
+        assertEquals(1, registry.snapshotStates().size());
+    }
+
+    @Test
+    public void tryAddRoll_invalidFirstRoll_gameNotRegistered() {
+        LiveGameRegistry registry = new LiveGameRegistry();
+
+        assertEquals(RollError.SPARE_NOT_ON_SECOND_ROLL, RollError.of(registry.tryAddRoll(1, '/')));
+        assertEquals(RollError.INVALID_CHARACTER, RollError.of(registry.tryAddRoll(2, 'x')));
+
+        assertEquals(0, registry.size());
+        assertFalse(registry.contains(1));
+        assertFalse(registry.contains(2));
+    }
+}
@@ -0,0 +1,74 @@
+package org.mes.bowling;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class RollLogScorerTest {
+    private static final String ROLL_LOG = "45X8\n45X81\r\n\nXXXXXXXXXXXX\nXXXXXXXXX9/X";
+    private static final String EXPECTED_SCORES = "[9, null, null]\n[9, 19, 9]\n[]\n"
+            + "[30, 30, 30, 30, 30, 30, 30, 30, 30, 30]\n"
+            + "[30, 30, 30, 30, 30, 30, 30, 29, 20, 20]\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void scoreInputStream_severalGames_oneLineOfScoresPerGame() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long numGames = new RollLogScorer(out).score(new ByteArrayInputStream(ROLL_LOG.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(5, numGames);
+        assertEquals(EXPECTED_SCORES, out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void scoreFile_severalGames_oneLineOfScoresPerGame() throws IOException {
+        Path rollLog = folder.newFile("rolls.txt").toPath();
+        Files.write(rollLog, ROLL_LOG.getBytes(StandardCharsets.US_ASCII));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(5, new RollLogScorer(out).score(rollLog));
+        assertEquals(EXPECTED_SCORES, out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void scoreInputStream_invalidLines_errorLinesAndLaterLinesStillScored() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RollLogScorer scorer = new RollLogScorer(out);
+        long numGames = scorer.score(new ByteArrayInputStream("45X81\nXXXXXXXXXXXX\n1X5\n4Q\n9-\n".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(5, numGames);
+        assertEquals(2, scorer.getNumInvalidLines());
+        assertEquals("[9, 19, 9]\n[30, 30, 30, 30, 30, 30, 30, 30, 30, 30]\n"
+                + "ERR STRIKE_NOT_ON_FIRST_ROLL 1\nERR INVALID_CHARACTER 1\n[9]\n", out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void scoreInputStream_readFails_scoresSoFarWritten() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = new SequenceInputStream(new ByteArrayInputStream("45X81\n9".getBytes(StandardCharsets.US_ASCII)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("disk gone");
+                    }
+                });
+        try {
+            new RollLogScorer(out).score(in);
+            fail("the read failure should be thrown");
+        } catch (IOException e) {
+            assertEquals("[9, 19, 9]\n", out.toString(StandardCharsets.US_ASCII));
+        }
+    }
+}
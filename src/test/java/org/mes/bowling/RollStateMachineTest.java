@@ -0,0 +1,76 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RollStateMachineTest {
+    private static final char[] ALPHABET = "0123456789X/F-Q".toCharArray();
+
+    @Test
+    public void validate_everySequenceUpToFiveRolls_matchesCalculateScores() {
+        char[] rolls = new char[5];
+        int[] digits = new int[rolls.length];
+        for (int length = 0; length <= rolls.length; length++) {
+            Arrays.fill(digits, 0);
+            do {
+                for (int i = 0; i < length; i++) {
+                    rolls[i] = ALPHABET[digits[i]];
+                }
+                assertSameResult(rolls, length);
+            } while (increment(digits, length));
+        }
+    }
+
+    @Test
+    public void validate_randomGamesIntoTheTenthFrame_matchesCalculateScores() {
+        Random random = new Random(16);
+        char[] rolls = new char[30];
+        for (int game = 0; game < 200_000; game++) {
+            // mostly strikes and low counts so games get deep into the 10th frame before failing
+            int length = random.nextInt(rolls.length + 1);
+            for (int i = 0; i < length; i++) {
+                int pick = random.nextInt(20);
+                rolls[i] = pick < 8 ? 'X' : pick < 16 ? (char) ('0' + random.nextInt(5)) : ALPHABET[random.nextInt(ALPHABET.length)];
+            }
+            assertSameResult(rolls, length);
+        }
+    }
+
+    @Test
+    public void validate_bytes_sameAsChars() {
+        byte[] rolls = {'X', '4', '/', '1', 'X'};
+        int result = RollStateMachine.validate(rolls, 0, rolls.length);
+        assertEquals(RollError.STRIKE_NOT_ON_FIRST_ROLL, RollError.of(result));
+        assertEquals(4, RollError.rollIndex(result));
+    }
+
+    @Test
+    public void numStates_fitsTheByteTable() {
+        assertTrue(RollStateMachine.numStates() <= Byte.MAX_VALUE);
+        assertEquals(RollError.values().length, RollStateMachine.numStates() - RollStateMachine.FIRST_SINK);
+    }
+
+    private static void assertSameResult(char[] rolls, int length) {
+        int expected = BowlingScoreCalculator.tryCalculateScores(rolls, 0, length, new int[BowlingScoreCalculator.MAX_FRAMES]);
+        int actual = RollStateMachine.validate(rolls, 0, length);
+        String game = new String(rolls, 0, length);
+        if (RollError.isError(expected)) {
+            assertEquals(game, expected, actual);
+        } else {
+            assertEquals(game, 0, actual);
+        }
+    }
+
+    // counts in base ALPHABET.length over the first length digits; false once every sequence was seen
+    private static boolean increment(int[] digits, int length) {
+        for (int i = 0; i < length; i++) {
+            if (++digits[i] < ALPHABET.length) { return true; }
+            digits[i] = 0;
+        }
+        return false;
+    }
+}
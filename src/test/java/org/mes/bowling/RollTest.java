@@ -0,0 +1,67 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RollTest {
+
+    @Test
+    public void ingestRollChars_perfectGame_lastTwoRollsExtra() {
+        List<Roll> rolls = BowlingScoreCalculator.ingestRollChars("XXXXXXXXXXXX".toCharArray());
+        for (int i = 0; i < 10; i++) {
+            assertFalse("roll " + i, rolls.get(i).isExtraRoll());
+        }
+        assertTrue(rolls.get(10).isExtraRoll());
+        assertTrue(rolls.get(11).isExtraRoll());
+        assertEquals(10, rolls.get(11).getFrame());
+    }
+
+    @Test
+    public void ingestRollChars_tenthFrameSpare_onlyBonusRollExtra() {
+        List<Roll> rolls = BowlingScoreCalculator.ingestRollChars("XXXXXXXXX5/3".toCharArray());
+        assertEquals(Roll.of(10, 1, 5, false, false, false), rolls.get(9));
+        assertEquals(Roll.of(10, 2, 5, false, true, false), rolls.get(10));
+        assertEquals(Roll.of(10, 1, 3, false, false, true), rolls.get(11));
+    }
+
+    @Test
+    public void ingestRollChars_tenthFrameStrikeThenSpare_bothBonusRollsExtra() {
+        List<Roll> rolls = BowlingScoreCalculator.ingestRollChars("XXXXXXXXXX5/".toCharArray());
+        assertFalse(rolls.get(9).isExtraRoll());
+        assertEquals(Roll.of(10, 1, 5, false, false, true), rolls.get(10));
+        assertEquals(Roll.of(10, 2, 5, false, true, true), rolls.get(11));
+    }
+
+    @Test
+    public void of_sameValues_sameInstance() {
+        for (char rollChar : "0123456789X".toCharArray()) {
+            Roll first = BowlingScoreCalculator.ingestRollChars(new char[]{rollChar}).get(0);
+            Roll second = BowlingScoreCalculator.ingestRollChars(new char[]{rollChar}).get(0);
+            assertSame(first, second);
+        }
+        assertSame(Roll.of(10, 2, 4, false, true, true), Roll.of(10, 2, 4, false, true, true));
+    }
+
+    @Test
+    public void equalsAndHashCode_pooledAndConstructed_equal() {
+        Roll constructed = new Roll(3, 2, 7, false, true, false);
+        Roll pooled = Roll.of(3, 2, 7, false, true, false);
+        assertNotSame(constructed, pooled);
+        assertEquals(constructed, pooled);
+        assertEquals(pooled, constructed);
+        assertEquals(constructed.hashCode(), pooled.hashCode());
+
+        assertNotEquals(pooled, Roll.of(3, 2, 7, false, true, true));
+        assertNotEquals(pooled, Roll.of(3, 2, 6, false, true, false));
+    }
+
+    @Test
+    public void of_valuesNoGameProduces_newEqualRoll() {
+        Roll roll = Roll.of(11, 1, 3, false, false, false);
+        assertEquals(11, roll.getFrame());
+        assertEquals(new Roll(11, 1, 3, false, false, false), roll);
+    }
+}
@@ -0,0 +1,79 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollSequenceException;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ScoreCacheTest {
+
+    @Test
+    public void calculateScores_repeatedGames_hitsReturnSameScores() {
+        ScoreCache cache = new ScoreCache(100);
+        char[][] games = {
+                {},
+                {'4', '5', 'X', '8'},
+                {'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X', 'X'},
+                {'5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5', '/', '5'},
+        };
+
+        for (int round = 0; round < 3; round++) {
+            for (char[] game : games) {
+                assertEquals(BowlingScoreCalculator.calculateScores(game), cache.calculateScores(game));
+            }
+        }
+
+        assertEquals(games.length, cache.getMisses());
+        assertEquals(games.length * 2, cache.getHits());
+        assertEquals(games.length, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void calculateScores_foulMissAndZero_shareOneEntry() {
+        ScoreCache cache = new ScoreCache(100);
+        cache.calculateScores(new char[]{'F', '9'});
+        cache.calculateScores(new char[]{'-', '9'});
+        cache.calculateScores(new char[]{'0', '9'});
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void calculateScores_moreGamesThanMaximumSize_leastRecentlyUsedEvicted() {
+        int maximumSize = 16;
+        ScoreCache cache = new ScoreCache(maximumSize);
+        for (int i = 0; i < 100; i++) {
+            char[] game = {(char) ('0' + i % 10), (char) ('0' + i / 10 % 10)};
+            cache.calculateScores(game);
+        }
+        assertTrue(cache.size() <= maximumSize);
+        assertEquals(100 - cache.size(), cache.getEvictions());
+    }
+
+    @Test
+    public void calculateScores_invalidGame_exceptionThrownAndNotCached() {
+        ScoreCache cache = new ScoreCache(100);
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.calculateScores(new char[]{'1', 'X'});
+                fail("a strike on the second roll of a frame should be rejected");
+            } catch (InvalidRollSequenceException expected) {
+                // expected
+            }
+        }
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void calculateScores_gameLongerThanKey_scoredWithoutCaching() {
+        ScoreCache cache = new ScoreCache(100);
+        char[] game = new char[GameCodec.MAX_ROLLS + 2];
+        Arrays.fill(game, 'X');
+        assertEquals(BowlingScoreCalculator.calculateScores(game), cache.calculateScores(game));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,155 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+import org.mes.bowling.exception.InvalidRollSequenceException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScoreProjectionTest {
+    private static final char[] SYMBOLS = "0123456789X/".toCharArray();
+
+    @Test
+    public void tryProject_noRolls_anythingFromZeroToPerfect() {
+        int projection = ScoreProjection.tryProject(new char[0], 0, 0);
+        assertEquals(0, ScoreProjection.min(projection));
+        assertEquals(Leaderboard.MAX_TOTAL, ScoreProjection.max(projection));
+    }
+
+    @Test
+    public void tryProject_completeGames_minAndMaxAreTheTotal() {
+        String[] games = {"XXXXXXXXXXXX", "5/5/5/5/5/5/5/5/5/5/5", "9-9-9-9-9-9-9-9-9-9-", "XXXXXXXXX9/X", "X7/9-X-88/-6XXX81"};
+        for (String game : games) {
+            int projection = ScoreProjection.project(game.toCharArray(), 0, game.length());
+            assertEquals(game, total(game.toCharArray(), game.length()), ScoreProjection.min(projection));
+            assertEquals(game, total(game.toCharArray(), game.length()), ScoreProjection.max(projection));
+        }
+    }
+
+    @Test
+    public void tryProject_partialGames_matchesEnumeratingEveryEnding() {
+        Random random = new Random(21);
+        char[] rolls = new char[32];
+        for (int game = 0; game < 40; game++) {
+            // eight frames of random rolls, leaving few enough rolls to enumerate every ending
+            int length = 0;
+            for (int frame = 1; frame <= 8; frame++) {
+                if (random.nextInt(3) == 0) {
+                    rolls[length++] = 'X';
+                } else {
+                    int first = random.nextInt(10);
+                    rolls[length++] = (char) ('0' + first);
+                    rolls[length++] = random.nextBoolean() ? '/' : (char) ('0' + random.nextInt(10 - first));
+                }
+            }
+            int prefix = length + random.nextInt(3);
+            for (int i = length; i < prefix; i++) {
+                rolls[i] = random.nextBoolean() ? 'X' : (char) ('0' + random.nextInt(10));
+            }
+            if (RollError.isError(BowlingScoreCalculator.validateRolls(rolls, 0, prefix))) { continue; }
+
+            int[] minMax = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+            enumerateEndings(rolls, prefix, minMax);
+            int projection = ScoreProjection.tryProject(rolls, 0, prefix);
+            String message = new String(rolls, 0, prefix);
+            assertEquals(message, minMax[0], ScoreProjection.min(projection));
+            assertEquals(message, minMax[1], ScoreProjection.max(projection));
+        }
+    }
+
+    @Test
+    public void tryProject_randomGames_everyPrefixBoundsTheFinalTotal() {
+        Random random = new Random(2021);
+        char[] rolls = new char[64];
+        for (int game = 0; game < 30_000; game++) {
+            // any accepted symbol, including a spare to start the 10th frame and spares among its extra rolls
+            int length = 0;
+            while (total(rolls, length) < 0) {
+                rolls[length] = SYMBOLS[random.nextInt(SYMBOLS.length)];
+                if (!RollError.isError(BowlingScoreCalculator.validateRolls(rolls, 0, length + 1))) { length++; }
+            }
+
+            int total = total(rolls, length);
+            for (int prefix = 0; prefix <= length; prefix++) {
+                int projection = ScoreProjection.tryProject(rolls, 0, prefix);
+                String message = new String(rolls, 0, length) + " after " + prefix + " rolls";
+                assertTrue(message, ScoreProjection.min(projection) <= total);
+                assertTrue(message, total <= ScoreProjection.max(projection));
+            }
+            int projection = ScoreProjection.tryProject(rolls, 0, length);
+            assertEquals(new String(rolls, 0, length), total, ScoreProjection.min(projection));
+            assertEquals(new String(rolls, 0, length), total, ScoreProjection.max(projection));
+        }
+    }
+
+    @Test
+    public void tryProject_tenthFrameStartingWithSpare_matchesCalculateScores() {
+        String[] games = {"-04230405856883803//6", "F88692562007F6322///8", "XXXXXXXXX/6", "XXXXXXXXX//X"};
+        for (String game : games) {
+            int projection = ScoreProjection.project(game.toCharArray(), 0, game.length());
+            int total = total(game.toCharArray(), game.length());
+            assertEquals(game, total, ScoreProjection.min(projection));
+            assertEquals(game, total, ScoreProjection.max(projection));
+        }
+    }
+
+    @Test
+    public void tryProject_invalidRoll_rollErrorReturned() {
+        char[] rolls = "45X/".toCharArray();
+        int result = ScoreProjection.tryProject(rolls, 0, rolls.length);
+        assertEquals(RollError.SPARE_NOT_ON_SECOND_ROLL, RollError.of(result));
+        assertEquals(3, RollError.rollIndex(result));
+    }
+
+    @Test(expected = InvalidRollSequenceException.class)
+    public void project_invalidRoll_exceptionThrown() {
+        ScoreProjection.project("1X".toCharArray(), 0, 2);
+    }
+
+    @Test
+    public void getMinAndMaxFinalScore_eachRoll_matchesTryProject() {
+        char[] game = "X7/9-X-88/-6XXX81".toCharArray();
+        IncrementalScorer scorer = new IncrementalScorer();
+        LiveGameRegistry registry = new LiveGameRegistry();
+        assertEquals(ScoreProjection.tryProject(game, 0, 0), registry.getProjection(1));
+        for (int length = 1; length <= game.length; length++) {
+            scorer.addRoll(game[length - 1]);
+            registry.addRoll(1, game[length - 1]);
+            int projection = ScoreProjection.tryProject(game, 0, length);
+            assertEquals(ScoreProjection.min(projection), scorer.getMinFinalScore());
+            assertEquals(ScoreProjection.max(projection), scorer.getMaxFinalScore());
+            assertEquals(projection, registry.getProjection(1));
+        }
+
+        scorer.reset();
+        assertEquals(0, scorer.getMinFinalScore());
+        assertEquals(Leaderboard.MAX_TOTAL, scorer.getMaxFinalScore());
+    }
+
+    // tries every valid roll after rolls[0, length) until all ten frames are scored
+    private static void enumerateEndings(char[] rolls, int length, int[] minMax) {
+        int total = total(rolls, length);
+        if (total >= 0) {
+            minMax[0] = Math.min(minMax[0], total);
+            minMax[1] = Math.max(minMax[1], total);
+            return;
+        }
+        for (char symbol : SYMBOLS) {
+            rolls[length] = symbol;
+            if (!RollError.isError(BowlingScoreCalculator.validateRolls(rolls, 0, length + 1))) {
+                enumerateEndings(rolls, length + 1, minMax);
+            }
+        }
+    }
+
+    // the total once all ten frames are scored, or -1
+    private static int total(char[] rolls, int length) {
+        int[] frameScores = new int[BowlingScoreCalculator.MAX_FRAMES];
+        int numFrames = BowlingScoreCalculator.calculateScores(rolls, 0, length, frameScores);
+        if (numFrames < BowlingScoreCalculator.MAX_FRAMES) { return -1; }
+        int[] scores = Arrays.copyOf(frameScores, numFrames);
+        return Arrays.stream(scores).anyMatch(score -> score == BowlingScoreCalculator.UNDETERMINED) ? -1 : Arrays.stream(scores).sum();
+    }
+}
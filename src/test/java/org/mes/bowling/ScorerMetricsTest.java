@@ -0,0 +1,74 @@
+package org.mes.bowling;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScorerMetricsTest {
+
+    @Test
+    public void record_callsAndFailures_countedByKind() {
+        ScorerMetrics metrics = new ScorerMetrics();
+        metrics.recordCall(4, 3, 100);
+        metrics.recordCall(40, 10, 300);
+        metrics.recordCall(2, RollError.INVALID_CHARACTER.code(), 50);
+        metrics.recordCall(3, RollError.atRollIndex(RollError.SPARE_NOT_ON_SECOND_ROLL.code(), 2), 50);
+
+        assertEquals(4, metrics.getCalls());
+        assertEquals(49, metrics.getRolls());
+        assertEquals(1, metrics.getInvalidCharacterCount());
+        assertEquals(1, metrics.getInvalidSequenceCount());
+        long[] inputLengths = metrics.getInputLengthCounts();
+        assertEquals(1, inputLengths[4]);
+        assertEquals(1, inputLengths[inputLengths.length - 1]);
+        assertTrue(metrics.getLatencyMaxNanos() >= 300);
+
+        metrics.reset();
+        assertEquals(0, metrics.getCalls());
+        assertEquals(0, metrics.getLatencyP99Nanos());
+    }
+
+    @Test
+    public void recordInput_batchOfGames_oneCallPerBatch() {
+        ScorerMetrics metrics = new ScorerMetrics();
+        metrics.recordCall(1000);
+        metrics.recordInput(12, 10);
+        metrics.recordInput(21, 10);
+        metrics.recordInput(3, RollError.STRIKE_NOT_ON_FIRST_ROLL.code());
+
+        assertEquals(1, metrics.getCalls());
+        assertEquals(36, metrics.getRolls());
+        assertEquals(1, metrics.getInvalidSequenceCount());
+        assertEquals(1, metrics.getInputLengthCounts()[12]);
+    }
+
+    @Test
+    public void entryPoints_eachHasItsOwnMetrics_registeredOnlyWhenEnabled() {
+        List<ScorerMetrics> entryPoints = List.of(ScorerMetrics.get(), ScorerMetrics.ingestRollChars(),
+                ScorerMetrics.incrementalScorer(), ScorerMetrics.batchScorer(), ScorerMetrics.columnarBatchScorer());
+        assertEquals(entryPoints.size(), entryPoints.stream().distinct().count());
+        // only registered when started with -Dorg.mes.bowling.metrics=true
+        assertEquals(ScorerMetrics.ENABLED, entryPoints.stream().allMatch(ScorerMetrics::isRegistered));
+    }
+
+    @Test
+    public void registerMBean_metrics_attributesReadableOverJmx() throws Exception {
+        ScorerMetrics metrics = new ScorerMetrics();
+        metrics.recordCall(12, 6, 1000);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.mes.bowling:type=ScorerMetrics,name=test");
+        server.registerMBean(metrics, name);
+        try {
+            assertEquals(1L, server.getAttribute(name, "Calls"));
+            assertEquals(12L, server.getAttribute(name, "Rolls"));
+            assertEquals(false, server.getAttribute(name, "Registered"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.mes.bowling.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ScoreServerTest {
+    private ScoreServer server;
+
+    @Before
+    public void startServer() throws Exception {
+        server = new ScoreServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @After
+    public void stopServer() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void pipelinedRequests_validAndInvalidGames_responsesInOrder() throws Exception {
+        try (Socket socket = connect()) {
+            send(socket, "45X81\nXXXXXXXXXXXX\r\n\n1X5\n12Q\n");
+            BufferedReader in = reader(socket);
+
+            assertEquals("[9, 19, 9]", in.readLine());
+            assertEquals("[30, 30, 30, 30, 30, 30, 30, 30, 30, 30]", in.readLine());
+            assertEquals("[]", in.readLine());
+            assertEquals("ERR STRIKE_NOT_ON_FIRST_ROLL 1", in.readLine());
+            assertEquals("ERR INVALID_CHARACTER 2", in.readLine());
+        }
+    }
+
+    @Test
+    public void requestSplitAcrossWrites_scoredOnceComplete() throws Exception {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "5/5/5/5/5");
+            Thread.sleep(50);
+            send(socket, "/5/5/5/5/5/5\n4");
+            assertEquals("[15, 15, 15, 15, 15, 15, 15, 15, 15, 15]", in.readLine());
+
+            send(socket, "5X\n");
+            assertEquals("[9, null]", in.readLine());
+        }
+    }
+
+    @Test
+    public void lastRequestWithoutNewline_scoredBeforeClose() throws Exception {
+        try (Socket socket = connect()) {
+            send(socket, "45\nXX");
+            socket.shutdownOutput();
+            BufferedReader in = reader(socket);
+
+            assertEquals("[9]", in.readLine());
+            assertEquals("[null, null]", in.readLine());
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void manyPipelinedRequests_allAnswered() throws Exception {
+        int numRequests = 50_000;
+        StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < numRequests; i++) {
+            requests.append("XXXXXXXXXXXX\n");
+        }
+
+        try (Socket socket = connect()) {
+            // responses are longer than requests, so this only completes if the server stops
+            // reading while its output backs up and resumes once we drain it
+            Thread writer = new Thread(() -> {
+                try {
+                    send(socket, requests.toString());
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            writer.start();
+
+            BufferedReader in = reader(socket);
+            for (int i = 0; i < numRequests; i++) {
+                assertEquals("[30, 30, 30, 30, 30, 30, 30, 30, 30, 30]", in.readLine());
+            }
+            writer.join();
+        }
+    }
+
+    @Test
+    public void lineTooLong_errorAndConnectionClosed() throws Exception {
+        try (Socket socket = connect()) {
+            char[] line = new char[ScoreServer.MAX_LINE_LENGTH + 1];
+            Arrays.fill(line, '1');
+            send(socket, new String(line));
+            BufferedReader in = reader(socket);
+
+            assertEquals("ERR LINE_TOO_LONG", in.readLine());
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void loadGenerator_shortRun_reportsRequestsAndPercentiles() throws Exception {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        LoadGenerator.Result result = new LoadGenerator(address, 2, 8).run(200, TimeUnit.MILLISECONDS);
+
+        assertTrue(result.getRequests() > 0);
+        assertEquals(0, result.getRequests() % 8);
+        assertTrue(result.getP99Nanos() >= result.getP50Nanos());
+        assertTrue(result.getMaxNanos() >= result.getP99Nanos());
+    }
+
+    private Socket connect() throws Exception {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static void send(Socket socket, String text) throws Exception {
+        OutputStream out = socket.getOutputStream();
+        out.write(text.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static BufferedReader reader(Socket socket) throws Exception {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,36 @@
+package org.mes.bowling.workload;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScoringHarnessTest {
+
+    @Test
+    public void run_smallWorkload_resultForEveryEntryPoint() {
+        char[][] games = new WorkloadGenerator(9).nextGames(3000);
+        ScoringHarness harness = new ScoringHarness("test \"games\"", games);
+        List<ScoringHarness.Result> results = harness.run(0, 2);
+
+        assertEquals(harness.getEntryPoints().size(), results.size());
+        for (ScoringHarness.Result result : results) {
+            assertEquals(6000, result.getGames());
+            // every round times each call once
+            assertEquals(2 * ((3000 + result.getGamesPerCall() - 1) / result.getGamesPerCall()), result.getCalls());
+            assertTrue(result.getGamesPerSecond() > 0);
+            assertTrue(result.getP50Nanos() <= result.getP99Nanos());
+            assertTrue(result.getP99Nanos() <= result.getMaxNanos());
+        }
+    }
+
+    @Test
+    public void toJson_oneObjectPerLine_workloadNameEscaped() {
+        ScoringHarness harness = new ScoringHarness("test \"games\"", new WorkloadGenerator(10).nextGames(10));
+        String json = harness.run(0, 1).get(0).toJson();
+        assertTrue(json, json.startsWith("{\"workload\":\"test \\\"games\\\"\",\"entryPoint\":\"calculateScores\",\"gamesPerCall\":1,\"games\":10,"));
+        assertTrue(json.endsWith("}"));
+        assertFalse(json.contains("\n"));
+    }
+}
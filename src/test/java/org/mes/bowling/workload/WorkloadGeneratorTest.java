@@ -0,0 +1,80 @@
+package org.mes.bowling.workload;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mes.bowling.BowlingScoreCalculator;
+import org.mes.bowling.RollError;
+import org.mes.bowling.ScoreProjection;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class WorkloadGeneratorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void nextGames_sameSeed_sameGames() {
+        char[][] first = new WorkloadGenerator(7).nextGames(1000);
+        char[][] second = new WorkloadGenerator(7).nextGames(1000);
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.deepEquals(first, new WorkloadGenerator(8).nextGames(1000)));
+    }
+
+    @Test
+    public void nextGame_noPartialsOrCorruption_everyGameCompleteAndValid() {
+        WorkloadGenerator generator = new WorkloadGenerator(1, 0.6, 0, 0);
+        for (int game = 0; game < 10_000; game++) {
+            char[] rolls = generator.nextGame();
+            int projection = ScoreProjection.project(rolls, 0, rolls.length);
+            assertEquals(new String(rolls), ScoreProjection.min(projection), ScoreProjection.max(projection));
+        }
+    }
+
+    @Test
+    public void nextGame_allPartial_noGameComplete() {
+        WorkloadGenerator generator = new WorkloadGenerator(2, 0.6, 1, 0);
+        for (int game = 0; game < 10_000; game++) {
+            char[] rolls = generator.nextGame();
+            int projection = ScoreProjection.project(rolls, 0, rolls.length);
+            assertTrue(new String(rolls), ScoreProjection.min(projection) < ScoreProjection.max(projection));
+        }
+    }
+
+    @Test
+    public void nextGame_allCorrupted_everyGameInvalidWithEveryKindOfError() {
+        WorkloadGenerator generator = new WorkloadGenerator(3, 0.5, 0.5, 1);
+        int[] errors = new int[RollError.values().length];
+        for (int game = 0; game < 10_000; game++) {
+            char[] rolls = generator.nextGame();
+            int result = BowlingScoreCalculator.validateRolls(rolls, 0, rolls.length);
+            assertTrue(new String(rolls), RollError.isError(result));
+            errors[RollError.of(result).ordinal()]++;
+        }
+        for (int count : errors) {
+            assertTrue(count > 0);
+        }
+    }
+
+    @Test
+    public void nextGame_perfectSkill_perfectGames() {
+        WorkloadGenerator generator = new WorkloadGenerator(4, 1, 0, 0);
+        assertEquals("XXXXXXXXXXXX", new String(generator.nextGame()));
+    }
+
+    @Test
+    public void write_thenRead_sameGames() throws IOException {
+        Path file = folder.newFile("games.txt").toPath();
+        new WorkloadGenerator(5).write(file, 500);
+        assertArrayEquals(new WorkloadGenerator(5).nextGames(500), WorkloadGenerator.read(file));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_skillOutOfRange_exceptionThrown() {
+        new WorkloadGenerator(6, 1.5, 0, 0);
+    }
+}
@@ -0,0 +1,55 @@
+package org.mes.bowling;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import static org.mes.bowling.BowlingScoreCalculator.MAX_FRAMES;
+import static org.mes.bowling.GameCodec.MAX_ROLLS;
+import static org.mes.bowling.GameColumns.BONUS_BIT;
+import static org.mes.bowling.GameColumns.LANES;
+
+/**
+ * The LaneKernel built on jdk.incubator.vector: the same arithmetic as ScalarLaneKernel, one
+ * vector of games at a time, with a masked add picking each frame's score out of the rolls that
+ * could start it. Only compiled with the vector profile; ColumnarBatchScorer loads it by name.
+ */
+final class VectorLaneKernel implements LaneKernel {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    VectorLaneKernel() {}
+
+    @Override
+    public void scoreFrames(GameColumns columns, int from, int to) {
+        byte[] pins = columns.pins;
+        byte[] frames = columns.frames;
+        byte[] rollScores = columns.rollScores;
+        byte[] frameScores = columns.frameScores;
+
+        int bound = from + SPECIES.loopBound(to - from);
+        for (int lane = from; lane < bound; lane += SPECIES.length()) {
+            for (int roll = 0; roll < MAX_ROLLS; roll++) {
+                int i = roll * LANES + lane;
+                ByteVector first = ByteVector.fromArray(SPECIES, pins, i);
+                ByteVector second = ByteVector.fromArray(SPECIES, pins, i + LANES);
+                ByteVector third = ByteVector.fromArray(SPECIES, pins, i + 2 * LANES);
+                ByteVector bonus = ByteVector.fromArray(SPECIES, frames, i).and((byte) BONUS_BIT);
+                first.add(second).add(third.mul(bonus)).intoArray(rollScores, i);
+            }
+
+            for (int frame = 1; frame <= MAX_FRAMES; frame++) {
+                byte startsFrame = (byte) (frame << 1);
+                ByteVector score = ByteVector.zero(SPECIES);
+                for (int roll = frame - 1; roll <= 2 * frame - 2; roll++) {
+                    int i = roll * LANES + lane;
+                    VectorMask<Byte> starts = ByteVector.fromArray(SPECIES, frames, i).and((byte) ~BONUS_BIT).eq(startsFrame);
+                    score = score.add(ByteVector.fromArray(SPECIES, rollScores, i), starts);
+                }
+                score.intoArray(frameScores, (frame - 1) * LANES + lane);
+            }
+        }
+
+        // fewer games than a full vector
+        ScalarLaneKernel.INSTANCE.scoreFrames(columns, bound, to);
+    }
+}